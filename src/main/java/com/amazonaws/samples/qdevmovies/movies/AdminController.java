@@ -0,0 +1,42 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trace inspection endpoints. They expose other users' recent query strings, so they are only
+ * registered when {@code movies.tracing.admin-endpoint} is true; keep it off on public ports.
+ */
+@Controller
+@ConditionalOnProperty(name = "movies.tracing.admin-endpoint", havingValue = "true")
+public class AdminController {
+
+    @Autowired
+    private TraceRecorder traceRecorder;
+
+    /**
+     * Shows the slowest recently traced requests with their per-stage timings.
+     * Arrr! The ship's log of the slowest voyages, for the captain's eyes!
+     */
+    @GetMapping("/admin/slow-requests")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getSlowRequests(
+            @RequestParam(value = "limit", required = false, defaultValue = "20") int limit) {
+        List<RequestTrace> slowest = traceRecorder.slowest(limit);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("slowThresholdMs", traceRecorder.getSlowThresholdMs());
+        response.put("totalResults", slowest.size());
+        response.put("requests", slowest);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,208 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for the search endpoints ({@code /movies} and {@code /movies/search}).
+ * Each client, identified by a configured API key or else by remote address, gets a token bucket
+ * and every request is charged by its estimated cost, so whole-catalog listings drain the bucket faster than ID
+ * lookups. Clients over their rate get 429; when too many requests are already in flight,
+ * new ones are shed with 503 instead of queueing on the Tomcat pool. At most
+ * {@code maxTrackedClients} buckets are kept; new clients beyond that are shed with 503 too.
+ */
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private static final Logger logger = LogManager.getLogger(AdmissionControlFilter.class);
+    // Full buckets are swept at most this often, so a full map does not cost a scan per request
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AdmissionProperties properties;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger trackedClients = new AtomicInteger();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime() - SWEEP_INTERVAL_NANOS);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter admitted;
+    private final Counter rateLimited;
+    private final Counter overloaded;
+
+    public AdmissionControlFilter(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.admitted = outcomeCounter(meterRegistry, "admitted");
+        this.rateLimited = outcomeCounter(meterRegistry, "rate_limited");
+        this.overloaded = outcomeCounter(meterRegistry, "overloaded");
+        Gauge.builder("movies.admission.in.flight", inFlight, AtomicInteger::get)
+                .description("Search requests currently being served")
+                .register(meterRegistry);
+        Gauge.builder("movies.admission.clients", trackedClients, AtomicInteger::get)
+                .description("Clients with an active rate limit bucket")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        return !isSearchPath(request);
+    }
+
+    /**
+     * Matches the decoded lookup path, without path parameters or a trailing slash, so spellings
+     * that Spring MVC still routes to the search handlers ({@code /movies/search/},
+     * {@code /movies/search;x=1}, {@code /movies/%73earch}) are limited too.
+     */
+    static boolean isSearchPath(HttpServletRequest request) {
+        String path = URL_PATH_HELPER.getLookupPathForRequest(request);
+        while (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return "/movies".equals(path) || "/movies/search".equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String client = clientKey(request);
+        long now = System.nanoTime();
+        TokenBucket bucket = bucketFor(client, now);
+        if (bucket == null) {
+            overloaded.increment();
+            logger.warn("Too many tracked clients, shedding request from new client {}", client);
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1),
+                    "Arrr! The ship be overloaded with searches, matey! Try again shortly.");
+            return;
+        }
+        long waitNanos = bucket.tryAcquire(estimateCost(request), now);
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            logger.warn("Rate limit exceeded for client {}", client);
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, waitNanos,
+                    "Arrr! Ye be searching too fast, matey! Slow down and try again shortly.");
+            return;
+        }
+
+        if (inFlight.incrementAndGet() > properties.getMaxConcurrentRequests()) {
+            inFlight.decrementAndGet();
+            overloaded.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1),
+                    "Arrr! The ship be overloaded with searches, matey! Try again shortly.");
+            return;
+        }
+        try {
+            admitted.increment();
+            filterChain.doFilter(request, response);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Estimates how much of the catalog a request touches: a single ID lookup, a filtered
+     * scan, or the whole catalog when no criteria are given.
+     */
+    int estimateCost(HttpServletRequest request) {
+        AdmissionProperties.Cost cost = properties.getCost();
+        String id = request.getParameter("id");
+        if (id != null) {
+            try {
+                if (Long.parseLong(id.trim()) > 0) {
+                    return cost.getIdLookup();
+                }
+            } catch (NumberFormatException e) {
+                // Rejected later by parameter binding; charge it like any other filtered request
+            }
+        }
+        if (hasText(request.getParameter("name")) || hasText(request.getParameter("genre"))) {
+            return cost.getFilteredSearch();
+        }
+        return cost.getFullScan();
+    }
+
+    /**
+     * API keys are unauthenticated input, so only keys from the configured set identify a client;
+     * anything else falls back to the remote address. Otherwise a client could rotate keys to get
+     * a fresh bucket on every request.
+     */
+    String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(properties.getApiKeyHeader());
+        if (hasText(apiKey) && properties.getApiKeys().contains(apiKey.trim())) {
+            return "key:" + apiKey.trim();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * @return The client's bucket, or null if it is new and the tracked-client cap is reached
+     */
+    private TokenBucket bucketFor(String client, long now) {
+        TokenBucket bucket = buckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (trackedClients.get() >= properties.getMaxTrackedClients()) {
+            sweepFullBuckets(now);
+        }
+        return buckets.computeIfAbsent(client, key -> {
+            if (trackedClients.incrementAndGet() > properties.getMaxTrackedClients()) {
+                trackedClients.decrementAndGet();
+                return null;
+            }
+            return new TokenBucket(properties.getTokensPerSecond(), properties.getBurst(), now);
+        });
+    }
+
+    private void sweepFullBuckets(long now) {
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        // Full buckets carry no state worth keeping, so forgetting them is free
+        for (Map.Entry<String, TokenBucket> entry : buckets.entrySet()) {
+            if (entry.getValue().isFull(now) && buckets.remove(entry.getKey(), entry.getValue())) {
+                trackedClients.decrementAndGet();
+            }
+        }
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos, String message)
+            throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999L));
+        response.setStatus(status.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"success\":false,\"error\":\"" + message + "\"}");
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("movies.admission.requests")
+                .description("Search requests by admission control outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
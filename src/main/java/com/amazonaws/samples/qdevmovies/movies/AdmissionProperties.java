@@ -0,0 +1,55 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Admission control settings for the search endpoints, bound from {@code movies.admission.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "movies.admission")
+public class AdmissionProperties {
+    private boolean enabled = true;
+    private double tokensPerSecond = 50;
+    private int burst = 100;
+    private int maxConcurrentRequests = 64;
+    private int maxTrackedClients = 10_000;
+    private String apiKeyHeader = "X-API-Key";
+    private Set<String> apiKeys = new HashSet<>();
+    private final Cost cost = new Cost();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public double getTokensPerSecond() { return tokensPerSecond; }
+    public void setTokensPerSecond(double tokensPerSecond) { this.tokensPerSecond = tokensPerSecond; }
+    public int getBurst() { return burst; }
+    public void setBurst(int burst) { this.burst = burst; }
+    public int getMaxConcurrentRequests() { return maxConcurrentRequests; }
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) { this.maxConcurrentRequests = maxConcurrentRequests; }
+    public int getMaxTrackedClients() { return maxTrackedClients; }
+    public void setMaxTrackedClients(int maxTrackedClients) { this.maxTrackedClients = maxTrackedClients; }
+    public String getApiKeyHeader() { return apiKeyHeader; }
+    public void setApiKeyHeader(String apiKeyHeader) { this.apiKeyHeader = apiKeyHeader; }
+    public Set<String> getApiKeys() { return apiKeys; }
+    public void setApiKeys(Set<String> apiKeys) { this.apiKeys = apiKeys; }
+    public Cost getCost() { return cost; }
+
+    /**
+     * Tokens charged per request, by how much of the catalog the query has to touch.
+     */
+    public static class Cost {
+        private int idLookup = 1;
+        private int filteredSearch = 2;
+        private int fullScan = 5;
+
+        public int getIdLookup() { return idLookup; }
+        public void setIdLookup(int idLookup) { this.idLookup = idLookup; }
+        public int getFilteredSearch() { return filteredSearch; }
+        public void setFilteredSearch(int filteredSearch) { this.filteredSearch = filteredSearch; }
+        public int getFullScan() { return fullScan; }
+        public void setFullScan(int fullScan) { this.fullScan = fullScan; }
+    }
+}
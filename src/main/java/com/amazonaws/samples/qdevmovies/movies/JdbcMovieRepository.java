@@ -0,0 +1,130 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Database-backed movie repository. The schema (with indexes on name, genre, year and review
+ * movie_id) is created by spring.sql.init from db/schema.sql; an empty database is seeded
+ * from the bundled movies.json with batched inserts.
+ */
+@Repository
+@ConditionalOnProperty(name = "movies.storage.backend", havingValue = "jdbc")
+public class JdbcMovieRepository implements MovieRepository {
+    private static final Logger logger = LogManager.getLogger(JdbcMovieRepository.class);
+
+    private static final String COLUMNS = "id, movie_name, director, release_year, genre, description, duration, imdb_rating";
+    private static final String INSERT_SQL = "INSERT INTO movies (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final RowMapper<Movie> MOVIE_MAPPER = (rs, rowNum) -> new Movie(
+        rs.getLong("id"),
+        rs.getString("movie_name"),
+        rs.getString("director"),
+        rs.getInt("release_year"),
+        rs.getString("genre"),
+        rs.getString("description"),
+        rs.getInt("duration"),
+        rs.getDouble("imdb_rating")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private volatile boolean seeded;
+    private final AtomicLong version = new AtomicLong();
+
+    public JdbcMovieRepository(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                               @Value("${movies.storage.jdbc.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    private void ensureSeeded() {
+        if (!seeded) {
+            seedIfEmpty();
+        }
+    }
+
+    /**
+     * Seeds an empty table. Runs on first use rather than at bean creation, so the import
+     * happens on MovieService's background catalog load instead of during startup.
+     */
+    public void seedIfEmpty() {
+        seedIfEmpty(() -> new JsonMovieRepository().findAll());
+    }
+
+    /**
+     * The emptiness check and the import run in one transaction, so an import cut short by an
+     * error or a restart leaves the table empty and is retried, instead of leaving a partial
+     * catalog that looks seeded.
+     */
+    synchronized void seedIfEmpty(Supplier<List<Movie>> source) {
+        if (seeded) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movies", Integer.class);
+            if (count != null && count == 0) {
+                List<Movie> movies = source.get();
+                saveAll(movies);
+                logger.info("Seeded movie database with {} movies from movies.json", movies.size());
+            }
+        });
+        seeded = true;
+    }
+
+    /**
+     * Bulk import using prepared-statement batches of {@code movies.storage.jdbc.batch-size}.
+     * Bumps the repository version once the rows are written.
+     */
+    public void saveAll(List<Movie> movies) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, movies, batchSize, (ps, movie) -> {
+            ps.setLong(1, movie.getId());
+            ps.setString(2, movie.getMovieName());
+            ps.setString(3, movie.getDirector());
+            ps.setInt(4, movie.getYear());
+            ps.setString(5, movie.getGenre());
+            ps.setString(6, movie.getDescription());
+            ps.setInt(7, movie.getDuration());
+            ps.setDouble(8, movie.getImdbRating());
+        });
+        version.incrementAndGet();
+    }
+
+    @Override
+    public long getVersion() {
+        ensureSeeded();
+        return version.get();
+    }
+
+    @Override
+    public List<Movie> findAll() {
+        ensureSeeded();
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM movies ORDER BY id", MOVIE_MAPPER);
+    }
+
+    @Override
+    public Optional<Movie> findById(long id) {
+        ensureSeeded();
+        List<Movie> movies = jdbcTemplate.query("SELECT " + COLUMNS + " FROM movies WHERE id = ?", MOVIE_MAPPER, id);
+        return movies.stream().findFirst();
+    }
+
+    @Override
+    public List<Movie> findPage(long afterId, int limit) {
+        ensureSeeded();
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM movies WHERE id > ? ORDER BY id LIMIT ?",
+                MOVIE_MAPPER, afterId, Math.max(0, limit));
+    }
+}
@@ -0,0 +1,104 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Database-backed review repository, looked up through the reviews.movie_id index.
+ * An empty database is seeded from the bundled mock-reviews.json with batched inserts.
+ */
+@Repository
+@ConditionalOnProperty(name = "movies.storage.backend", havingValue = "jdbc")
+public class JdbcReviewRepository implements ReviewRepository {
+    private static final Logger logger = LogManager.getLogger(JdbcReviewRepository.class);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO reviews (movie_id, user_name, avatar_emoji, rating, comment_text) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private volatile boolean seeded;
+
+    public JdbcReviewRepository(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                @Value("${movies.storage.jdbc.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    private void ensureSeeded() {
+        if (!seeded) {
+            seedIfEmpty();
+        }
+    }
+
+    /**
+     * Seeds an empty table. Runs on the first review lookup rather than at bean creation,
+     * so the import does not hold up startup.
+     */
+    public void seedIfEmpty() {
+        seedIfEmpty(() -> new JsonReviewRepository().findAll());
+    }
+
+    /**
+     * The emptiness check and the import run in one transaction, so an interrupted import
+     * leaves the table empty and is retried on the next start.
+     */
+    synchronized void seedIfEmpty(Supplier<Map<Long, List<Review>>> source) {
+        if (seeded) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reviews", Integer.class);
+            if (count != null && count == 0) {
+                Map<Long, List<Review>> reviews = source.get();
+                saveAll(reviews);
+                logger.info("Seeded review database with reviews for {} movies from mock-reviews.json", reviews.size());
+            }
+        });
+        seeded = true;
+    }
+
+    /**
+     * Bulk import using prepared-statement batches of {@code movies.storage.jdbc.batch-size}.
+     */
+    public void saveAll(Map<Long, List<Review>> reviewsByMovie) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<Long, List<Review>> entry : reviewsByMovie.entrySet()) {
+            for (Review review : entry.getValue()) {
+                rows.add(new Object[] {entry.getKey(), review.getUserName(), review.getAvatarEmoji(),
+                        review.getRating(), review.getComment()});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (ps, row) -> {
+            for (int i = 0; i < row.length; i++) {
+                ps.setObject(i + 1, row[i]);
+            }
+        });
+    }
+
+    @Override
+    public List<Review> findByMovieId(long movieId) {
+        ensureSeeded();
+        return jdbcTemplate.query(
+            "SELECT user_name, avatar_emoji, rating, comment_text FROM reviews WHERE movie_id = ? ORDER BY id",
+            (rs, rowNum) -> new Review(
+                rs.getString("user_name"),
+                rs.getString("avatar_emoji"),
+                rs.getDouble("rating"),
+                rs.getString("comment_text")
+            ),
+            movieId);
+    }
+}
@@ -0,0 +1,116 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Scanner;
+
+/**
+ * In-memory movie repository backed by the bundled movies.json. The file is parsed on first
+ * use, so building the bean does not hold up startup; MovieService triggers that from its
+ * background catalog load.
+ */
+@Repository
+@ConditionalOnProperty(name = "movies.storage.backend", havingValue = "memory", matchIfMissing = true)
+public class JsonMovieRepository implements MovieRepository {
+    private static final Logger logger = LogManager.getLogger(JsonMovieRepository.class);
+
+    private volatile Catalog catalog;
+
+    private Catalog catalog() {
+        Catalog loaded = catalog;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = catalog;
+                if (loaded == null) {
+                    loaded = new Catalog(loadMoviesFromJson());
+                    catalog = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private List<Movie> loadMoviesFromJson() {
+        List<Movie> movieList = new ArrayList<>();
+        try {
+            InputStream inputStream = getClass().getClassLoader().getResourceAsStream("movies.json");
+            if (inputStream != null) {
+                Scanner scanner = new Scanner(inputStream, StandardCharsets.UTF_8.name());
+                String jsonContent = scanner.useDelimiter("\\A").next();
+                scanner.close();
+                
+                JSONArray moviesArray = new JSONArray(jsonContent);
+                for (int i = 0; i < moviesArray.length(); i++) {
+                    JSONObject movieObj = moviesArray.getJSONObject(i);
+                    movieList.add(new Movie(
+                        movieObj.getLong("id"),
+                        movieObj.getString("movieName"),
+                        movieObj.getString("director"),
+                        movieObj.getInt("year"),
+                        movieObj.getString("genre"),
+                        movieObj.getString("description"),
+                        movieObj.getInt("duration"),
+                        movieObj.getDouble("imdbRating")
+                    ));
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to load movies from JSON: {}", e.getMessage());
+        }
+        return movieList;
+    }
+
+    @Override
+    public List<Movie> findAll() {
+        return catalog().movies;
+    }
+
+    @Override
+    public Optional<Movie> findById(long id) {
+        return Optional.ofNullable(catalog().movieMap.get(id));
+    }
+
+    @Override
+    public List<Movie> findPage(long afterId, int limit) {
+        List<Movie> movies = catalog().movies;
+        // Movies are sorted by ID, so binary search for the first ID past the cursor
+        int low = 0;
+        int high = movies.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (movies.get(mid).getId() <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return movies.subList(low, Math.min(movies.size(), low + Math.max(0, limit)));
+    }
+
+    private static final class Catalog {
+        private final List<Movie> movies;
+        private final Map<Long, Movie> movieMap = new HashMap<>();
+
+        private Catalog(List<Movie> loaded) {
+            loaded.sort(Comparator.comparingLong(Movie::getId));
+            this.movies = Collections.unmodifiableList(loaded);
+            for (Movie movie : movies) {
+                movieMap.put(movie.getId(), movie);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+
+/**
+ * In-memory review repository backed by the bundled mock-reviews.json, parsed once on first use.
+ */
+@Repository
+@ConditionalOnProperty(name = "movies.storage.backend", havingValue = "memory", matchIfMissing = true)
+public class JsonReviewRepository implements ReviewRepository {
+    private static final Logger logger = LogManager.getLogger(JsonReviewRepository.class);
+
+    private volatile Map<Long, List<Review>> reviewsByMovie;
+
+    private Map<Long, List<Review>> reviewsByMovie() {
+        Map<Long, List<Review>> loaded = reviewsByMovie;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = reviewsByMovie;
+                if (loaded == null) {
+                    loaded = loadReviewsFromJson();
+                    reviewsByMovie = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private Map<Long, List<Review>> loadReviewsFromJson() {
+        Map<Long, List<Review>> reviews = new HashMap<>();
+        try {
+            InputStream inputStream = getClass().getClassLoader().getResourceAsStream("mock-reviews.json");
+            if (inputStream != null) {
+                Scanner scanner = new Scanner(inputStream, StandardCharsets.UTF_8.name());
+                String jsonContent = scanner.useDelimiter("\\A").next();
+                scanner.close();
+                
+                JSONObject reviewsData = new JSONObject(jsonContent);
+                for (String movieId : reviewsData.keySet()) {
+                    JSONArray movieReviews = reviewsData.getJSONArray(movieId);
+                    List<Review> movieReviewList = new ArrayList<>();
+                    for (int i = 0; i < movieReviews.length(); i++) {
+                        JSONObject reviewObj = movieReviews.getJSONObject(i);
+                        movieReviewList.add(new Review(
+                            reviewObj.getString("userName"),
+                            reviewObj.getString("avatarEmoji"),
+                            reviewObj.getDouble("rating"),
+                            reviewObj.getString("comment")
+                        ));
+                    }
+                    reviews.put(Long.parseLong(movieId), Collections.unmodifiableList(movieReviewList));
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to load reviews from JSON: {}", e.getMessage());
+        }
+        return reviews;
+    }
+
+    /**
+     * @return Every review keyed by movie ID, e.g. for seeding another backend
+     */
+    Map<Long, List<Review>> findAll() {
+        return Collections.unmodifiableMap(reviewsByMovie());
+    }
+
+    @Override
+    public List<Review> findByMovieId(long movieId) {
+        return reviewsByMovie().getOrDefault(movieId, Collections.emptyList());
+    }
+}
@@ -0,0 +1,28 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the movie catalog as out of service until it has been loaded and indexed.
+ * Included in the readiness group, so {@code /actuator/health/readiness} only flips to UP
+ * once searches can be answered without waiting for the catalog.
+ */
+@Component
+public class MovieCatalogHealthIndicator implements HealthIndicator {
+
+    private final MovieService movieService;
+
+    public MovieCatalogHealthIndicator(MovieService movieService) {
+        this.movieService = movieService;
+    }
+
+    @Override
+    public Health health() {
+        if (movieService.isCatalogLoaded()) {
+            return Health.up().withDetail("movies", movieService.getAllMovies().size()).build();
+        }
+        return Health.outOfService().withDetail("reason", "Movie catalog is still loading").build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list view over a subset of the catalog, addressed by catalog ordinals.
+ * Lets cached search results be handed out without copying the matching movies.
+ */
+class MovieOrdinalList extends AbstractList<Movie> implements RandomAccess {
+    private final List<Movie> catalog;
+    private final int[] ordinals;
+
+    MovieOrdinalList(List<Movie> catalog, int[] ordinals) {
+        this.catalog = catalog;
+        this.ordinals = ordinals;
+    }
+
+    @Override
+    public Movie get(int index) {
+        return catalog.get(ordinals[index]);
+    }
+
+    @Override
+    public int size() {
+        return ordinals.length;
+    }
+}
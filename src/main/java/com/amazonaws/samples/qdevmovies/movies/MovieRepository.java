@@ -0,0 +1,37 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage backend for the movie catalog. Selected with {@code movies.storage.backend}:
+ * {@code memory} (default) reads the bundled movies.json, {@code jdbc} uses a database.
+ */
+public interface MovieRepository {
+
+    /**
+     * @return All movies, ordered by ID
+     */
+    List<Movie> findAll();
+
+    Optional<Movie> findById(long id);
+
+    /**
+     * Keyset pagination over the catalog ordered by ID.
+     *
+     * @param afterId Return only movies with an ID greater than this; 0 for the first page
+     * @param limit Maximum number of movies to return
+     * @return Up to {@code limit} movies ordered by ID
+     */
+    List<Movie> findPage(long afterId, int limit);
+
+    /**
+     * Changes whenever movies are written through this repository, so callers holding a copy
+     * of the catalog know to reload it. Read-only backends never change it.
+     *
+     * @return Current version of the stored catalog
+     */
+    default long getVersion() {
+        return 0L;
+    }
+}
@@ -0,0 +1,336 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, concurrent cache of movie search results.
+ * Entries are keyed by normalized (trimmed, lowercased) search criteria and hold immutable
+ * arrays of catalog ordinals, so a cache hit never copies the matching movies.
+ * Concurrent misses for the same criteria are coalesced into a single computation.
+ */
+public class MovieSearchCache {
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+    public static final long DEFAULT_MAX_WEIGHT = 1_000_000L;
+
+    // Evict down to this fraction of the limits so eviction work is amortized over many inserts
+    private static final double LOW_WATER_MARK = 0.9;
+
+    // Per-thread lookup key, re-pointed at each request's raw criteria so cache hits allocate nothing
+    private static final ThreadLocal<SearchKey> PROBES = ThreadLocal.withInitial(() -> new SearchKey(null, null, 0));
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final ConcurrentHashMap<SearchKey, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<SearchKey, CompletableFuture<int[]>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong weight = new AtomicLong();
+    // Recency clock, advanced by two on every store and only read on hits. A hit stamps its entry
+    // one past the current clock, so it ranks above everything stored before it; hits within the
+    // same store epoch tie, which is close enough for eviction order.
+    private final AtomicLong clock = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile long catalogVersion;
+
+    public MovieSearchCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_WEIGHT);
+    }
+
+    /**
+     * @param maxEntries Maximum number of cached queries
+     * @param maxWeight Maximum total weight of cached results, where each entry weighs its ordinal count plus one
+     */
+    public MovieSearchCache(int maxEntries, long maxWeight) {
+        if (maxEntries <= 0 || maxWeight <= 0) {
+            throw new IllegalArgumentException("Cache limits must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns the cached ordinals for the given criteria, computing them with the loader on a miss.
+     * Only one thread runs the loader for a given key; concurrent callers wait for its result.
+     *
+     * @param name Raw movie name criteria
+     * @param genre Raw genre criteria
+     * @param version Current catalog version; a newer version drops every cached entry
+     * @param loader Computes matching catalog ordinals from the normalized key
+     * @return Immutable array of matching catalog ordinals, which callers must not modify
+     */
+    public int[] get(String name, String genre, long version, Function<SearchKey, int[]> loader) {
+        invalidateIfStale(version);
+
+        // Probe with the raw criteria first; normalized strings are only built on a miss
+        Entry entry = entries.get(PROBES.get().reset(name, genre, version));
+        if (entry != null) {
+            touch(entry);
+            hits.increment();
+            return entry.ordinals;
+        }
+
+        SearchKey key = SearchKey.of(name, genre, version);
+        CompletableFuture<int[]> pending = new CompletableFuture<>();
+        CompletableFuture<int[]> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            hits.increment();
+            return join(existing);
+        }
+
+        try {
+            // Another thread may have stored the entry between our lookup and claiming the key
+            entry = entries.get(key);
+            int[] ordinals;
+            if (entry != null) {
+                hits.increment();
+                ordinals = entry.ordinals;
+            } else {
+                misses.increment();
+                ordinals = loader.apply(key);
+                store(key, ordinals);
+            }
+            pending.complete(ordinals);
+            return ordinals;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getWeight() {
+        return weight.get();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public void clear() {
+        for (Map.Entry<SearchKey, Entry> e : entries.entrySet()) {
+            remove(e.getKey(), e.getValue());
+        }
+    }
+
+    /**
+     * Marks a hit entry as recently used. Only the first hit after a store writes the entry;
+     * later hits just read the shared clock, so hits do not contend on a counter.
+     */
+    private void touch(Entry entry) {
+        long stamp = clock.get() + 1;
+        if (entry.lastAccess < stamp) {
+            entry.lastAccess = stamp;
+        }
+    }
+
+    private void invalidateIfStale(long version) {
+        // Versions only move forward: a search still holding an older catalog must not
+        // wipe results already cached for the newer one
+        if (version <= catalogVersion) {
+            return;
+        }
+        synchronized (this) {
+            if (version > catalogVersion) {
+                catalogVersion = version;
+                clear();
+            }
+        }
+    }
+
+    private void store(SearchKey key, int[] ordinals) {
+        long entryWeight = ordinals.length + 1L;
+        if (key.version != catalogVersion || entryWeight > maxWeight) {
+            return;
+        }
+        Entry entry = new Entry(ordinals, entryWeight, clock.addAndGet(2));
+        Entry previous = entries.put(key, entry);
+        weight.addAndGet(entryWeight - (previous != null ? previous.weight : 0));
+        if (entries.size() > maxEntries || weight.get() > maxWeight) {
+            evict();
+        }
+    }
+
+    private synchronized void evict() {
+        int targetEntries = (int) (maxEntries * LOW_WATER_MARK);
+        long targetWeight = (long) (maxWeight * LOW_WATER_MARK);
+        if (entries.size() <= maxEntries && weight.get() <= maxWeight) {
+            return;
+        }
+
+        List<Map.Entry<SearchKey, Entry>> candidates = new ArrayList<>(entries.entrySet());
+        candidates.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+        for (Map.Entry<SearchKey, Entry> candidate : candidates) {
+            if (entries.size() <= targetEntries && weight.get() <= targetWeight) {
+                break;
+            }
+            if (remove(candidate.getKey(), candidate.getValue())) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private boolean remove(SearchKey key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            weight.addAndGet(-entry.weight);
+            return true;
+        }
+        return false;
+    }
+
+    private static int[] join(CompletableFuture<int[]> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entry {
+        private final int[] ordinals;
+        private final long weight;
+        private volatile long lastAccess;
+
+        private Entry(int[] ordinals, long weight, long lastAccess) {
+            this.ordinals = ordinals;
+            this.weight = weight;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    /**
+     * Normalized search criteria. Blank criteria normalize to the empty string, meaning "match all".
+     * Hashing and equality trim and lowercase character by character on the fly, so a per-thread
+     * probe holding the raw criteria finds the same entry as the normalized key without copying.
+     */
+    public static final class SearchKey {
+        private String name;
+        private String genre;
+        private long version;
+        private int hash;
+
+        private SearchKey(String name, String genre, long version) {
+            reset(name, genre, version);
+        }
+
+        private SearchKey reset(String name, String genre, long version) {
+            this.name = name;
+            this.genre = genre;
+            this.version = version;
+            this.hash = 31 * (31 * normalizedHash(name) + normalizedHash(genre)) + Long.hashCode(version);
+            return this;
+        }
+
+        static SearchKey of(String name, String genre, long version) {
+            return new SearchKey(normalize(name), normalize(genre), version);
+        }
+
+        static String normalize(String criteria) {
+            if (criteria == null) {
+                return "";
+            }
+            String trimmed = criteria.trim();
+            char[] chars = new char[trimmed.length()];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = Character.toLowerCase(trimmed.charAt(i));
+            }
+            return new String(chars);
+        }
+
+        private static int start(String s) {
+            int start = 0;
+            while (start < s.length() && s.charAt(start) <= ' ') {
+                start++;
+            }
+            return start;
+        }
+
+        private static int end(String s, int start) {
+            int end = s.length();
+            while (end > start && s.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            return end;
+        }
+
+        private static int normalizedHash(String s) {
+            if (s == null) {
+                return 0;
+            }
+            int h = 0;
+            int start = start(s);
+            for (int i = start, end = end(s, start); i < end; i++) {
+                h = 31 * h + Character.toLowerCase(s.charAt(i));
+            }
+            return h;
+        }
+
+        private static boolean normalizedEquals(String a, String b) {
+            String left = a == null ? "" : a;
+            String right = b == null ? "" : b;
+            int leftStart = start(left);
+            int leftEnd = end(left, leftStart);
+            int rightStart = start(right);
+            int rightEnd = end(right, rightStart);
+            if (leftEnd - leftStart != rightEnd - rightStart) {
+                return false;
+            }
+            for (int i = 0; i < leftEnd - leftStart; i++) {
+                if (Character.toLowerCase(left.charAt(leftStart + i)) != Character.toLowerCase(right.charAt(rightStart + i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getGenre() {
+            return genre;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SearchKey)) {
+                return false;
+            }
+            SearchKey other = (SearchKey) o;
+            return version == other.version && hash == other.hash
+                    && normalizedEquals(name, other.name) && normalizedEquals(genre, other.genre);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
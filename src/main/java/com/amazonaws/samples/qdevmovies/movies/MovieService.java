@@ -1,114 +1,213 @@
 package com.amazonaws.samples.qdevmovies.movies;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Movie catalog service. The catalog is read from the configured {@link MovieRepository} and
+ * indexed on a background thread so that context refresh and web server startup are not
+ * blocked by it; callers that need the catalog before it is ready simply wait for it.
+ * Never lazily initialized, so loading starts at boot even when the fast-start profile
+ * turns on lazy bean initialization.
+ */
 @Service
+@Lazy(false)
 public class MovieService {
     private static final Logger logger = LogManager.getLogger(MovieService.class);
-    private final List<Movie> movies;
-    private final Map<Long, Movie> movieMap;
+    private static final Executor CATALOG_LOADER = task -> {
+        Thread thread = new Thread(task, "movie-catalog-loader");
+        thread.setDaemon(true);
+        thread.start();
+    };
+
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final MovieSearchCache searchCache = new MovieSearchCache();
+    private final MovieRepository movieRepository;
+    private final PartitionedSearchExecutor searchExecutor;
+    private volatile CompletableFuture<Catalog> catalog;
 
     public MovieService() {
-        this.movies = loadMoviesFromJson();
-        this.movieMap = new HashMap<>();
-        for (Movie movie : movies) {
-            movieMap.put(movie.getId(), movie);
+        this(new JsonMovieRepository(), PartitionedSearchExecutor.sequential());
+    }
+
+    @Autowired
+    public MovieService(MovieRepository movieRepository, PartitionedSearchExecutor searchExecutor) {
+        this.movieRepository = movieRepository;
+        this.searchExecutor = searchExecutor;
+        this.catalog = CompletableFuture.supplyAsync(this::loadCatalog, CATALOG_LOADER);
+    }
+
+    private Catalog loadCatalog() {
+        long start = System.nanoTime();
+        // Read the store version first, so a write racing with the load triggers another reload
+        long storeVersion = storeVersion();
+        List<Movie> movies = loadMovies();
+        logger.info("Movie catalog loaded with {} movies in {} ms", movies.size(), (System.nanoTime() - start) / 1_000_000);
+        // Created once per catalog so cache lookups do not allocate a capturing lambda per search,
+        // and a miss always scans the same movies its ordinals will be resolved against
+        return new Catalog(movies, catalogVersion.incrementAndGet(), storeVersion,
+                criteria -> scanCatalog(movies, criteria));
+    }
+
+    private List<Movie> loadMovies() {
+        try {
+            return movieRepository.findAll();
+        } catch (Exception e) {
+            logger.error("Failed to load movies from the repository: {}", e.getMessage());
+            return new ArrayList<>();
         }
     }
 
-    private List<Movie> loadMoviesFromJson() {
-        List<Movie> movieList = new ArrayList<>();
+    private long storeVersion() {
         try {
-            InputStream inputStream = getClass().getClassLoader().getResourceAsStream("movies.json");
-            if (inputStream != null) {
-                Scanner scanner = new Scanner(inputStream, StandardCharsets.UTF_8.name());
-                String jsonContent = scanner.useDelimiter("\\A").next();
-                scanner.close();
-                
-                JSONArray moviesArray = new JSONArray(jsonContent);
-                for (int i = 0; i < moviesArray.length(); i++) {
-                    JSONObject movieObj = moviesArray.getJSONObject(i);
-                    movieList.add(new Movie(
-                        movieObj.getLong("id"),
-                        movieObj.getString("movieName"),
-                        movieObj.getString("director"),
-                        movieObj.getInt("year"),
-                        movieObj.getString("genre"),
-                        movieObj.getString("description"),
-                        movieObj.getInt("duration"),
-                        movieObj.getDouble("imdbRating")
-                    ));
-                }
-            }
+            return movieRepository.getVersion();
         } catch (Exception e) {
-            logger.error("Failed to load movies from JSON: {}", e.getMessage());
+            logger.error("Failed to read the movie repository version: {}", e.getMessage());
+            return -1;
         }
-        return movieList;
+    }
+
+    /**
+     * Returns the loaded catalog, reloading it first if the repository has changed since it
+     * was read. A new catalog gets a new version, which also drops every cached search result.
+     */
+    private Catalog catalog() {
+        Catalog current = catalog.join();
+        if (current.storeVersion != storeVersion()) {
+            current = reloadCatalog(current);
+        }
+        return current;
+    }
+
+    private synchronized Catalog reloadCatalog(Catalog stale) {
+        Catalog current = catalog.join();
+        if (current == stale) {
+            current = loadCatalog();
+            catalog = CompletableFuture.completedFuture(current);
+        }
+        return current;
+    }
+
+    /**
+     * @return true once the catalog has been loaded and indexed, without waiting for it
+     */
+    public boolean isCatalogLoaded() {
+        return catalog.isDone() && !catalog.isCompletedExceptionally();
     }
 
     public List<Movie> getAllMovies() {
-        return movies;
+        return catalog().movies;
     }
 
+    /**
+     * Looks a movie up in the repository directly, without waiting for the search catalog.
+     */
     public Optional<Movie> getMovieById(Long id) {
         if (id == null || id <= 0) {
             return Optional.empty();
         }
-        return Optional.ofNullable(movieMap.get(id));
+        return movieRepository.findById(id);
+    }
+
+    /**
+     * Reads one page of the catalog, ordered by ID, straight from the repository.
+     *
+     * @param afterId Return only movies with an ID greater than this; 0 for the first page
+     * @param limit Maximum number of movies to return
+     * @return Up to {@code limit} movies ordered by ID
+     */
+    public List<Movie> getMoviesPage(long afterId, int limit) {
+        return movieRepository.findPage(afterId, limit);
     }
 
     /**
      * Searches for movies based on the provided criteria.
      * Arrr! This method be the treasure hunter that finds movies matching yer search criteria!
+     * Name and genre results are served from the search cache; ID lookups go straight to the map.
      * 
      * @param name Movie name to search for (partial match, case-insensitive)
      * @param id Specific movie ID to find
      * @param genre Genre to filter by (partial match, case-insensitive)
-     * @return List of movies matching the search criteria
+     * @return Read-only list of movies matching the search criteria
      */
     public List<Movie> searchMovies(String name, Long id, String genre) {
-        logger.info("Ahoy! Searching for movie treasures with criteria - name: {}, id: {}, genre: {}", name, id, genre);
+        try (RequestTracer.Span span = RequestTracer.span("searchMovies")) {
+            // Per-search logging stays at TRACE so the app's DEBUG default adds nothing to the hot path
+            logger.trace("Ahoy! Searching for movie treasures with criteria - name: {}, id: {}, genre: {}", name, id, genre);
         
-        List<Movie> searchResults = new ArrayList<>();
+            // If searching by ID specifically, return that movie if it exists
+            if (id != null && id > 0) {
+                List<Movie> searchResults = new ArrayList<>();
+                Optional<Movie> movieById = getMovieById(id);
+                if (movieById.isPresent()) {
+                    searchResults.add(movieById.get());
+                    logger.trace("Found treasure by ID: {}", movieById.get().getMovieName());
+                }
+                return searchResults;
+            }
         
-        // If searching by ID specifically, return that movie if it exists
-        if (id != null && id > 0) {
-            Optional<Movie> movieById = getMovieById(id);
-            if (movieById.isPresent()) {
-                searchResults.add(movieById.get());
-                logger.info("Found treasure by ID: {}", movieById.get().getMovieName());
+            Catalog current = catalog();
+            int[] ordinals = searchCache.get(name, genre, current.version, current.scanner);
+            if (logger.isTraceEnabled()) {
+                logger.trace("Search completed! Found {} movie treasures matching the criteria", ordinals.length);
             }
-            return searchResults;
+            return new MovieOrdinalList(current.movies, ordinals);
         }
-        
-        // Filter movies by name and/or genre
-        for (Movie movie : movies) {
-            boolean matchesName = (name == null || name.trim().isEmpty() || 
-                                 movie.getMovieName().toLowerCase().contains(name.toLowerCase().trim()));
-            boolean matchesGenre = (genre == null || genre.trim().isEmpty() || 
-                                  movie.getGenre().toLowerCase().contains(genre.toLowerCase().trim()));
-            
-            if (matchesName && matchesGenre) {
-                searchResults.add(movie);
+    }
+
+    /**
+     * Scans a catalog snapshot for movies matching normalized name and genre criteria.
+     * Large scans are split across the partitioned search executor. Matching compares characters
+     * in place, so no lowercase copies of movie names or genres are made per movie.
+     *
+     * @param movies Catalog snapshot the returned ordinals index into
+     * @param criteria Normalized search criteria from the search cache
+     * @return Catalog ordinals of the matching movies, in catalog order
+     */
+    int[] scanCatalog(List<Movie> movies, MovieSearchCache.SearchKey criteria) {
+        String name = criteria.getName();
+        String genre = criteria.getGenre();
+        // Cost grows with catalog size and the number of substring predicates to evaluate per movie
+        long cost = (long) movies.size() * ((name.isEmpty() ? 0 : 1) + (genre.isEmpty() ? 0 : 1));
+        try (RequestTracer.Span span = RequestTracer.span("scanCatalog")) {
+            return searchExecutor.search(movies, movie -> containsIgnoreCase(movie.getMovieName(), name)
+                    && containsIgnoreCase(movie.getGenre(), genre), cost);
+        }
+    }
+
+    /**
+     * Case-insensitive substring test that does not copy either string.
+     *
+     * @param text Text to search in
+     * @param needle Lowercase text to look for; empty matches everything
+     * @return true if the text contains the needle, ignoring case
+     */
+    static boolean containsIgnoreCase(String text, String needle) {
+        int length = needle.length();
+        if (length == 0) {
+            return true;
+        }
+        if (text == null) {
+            return false;
+        }
+        for (int i = 0, last = text.length() - length; i <= last; i++) {
+            if (text.regionMatches(true, i, needle, 0, length)) {
+                return true;
             }
         }
-        
-        logger.info("Search completed! Found {} movie treasures matching the criteria", searchResults.size());
-        return searchResults;
+        return false;
     }
 
     /**
@@ -118,10 +217,27 @@ public class MovieService {
      * @return List of unique genres
      */
     public List<String> getAllGenres() {
-        return movies.stream()
-                .map(Movie::getGenre)
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+        try (RequestTracer.Span span = RequestTracer.span("getAllGenres")) {
+            return catalog().movies.stream()
+                    .map(Movie::getGenre)
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static final class Catalog {
+        private final List<Movie> movies;
+        private final long version;
+        private final long storeVersion;
+        private final Function<MovieSearchCache.SearchKey, int[]> scanner;
+
+        private Catalog(List<Movie> movies, long version, long storeVersion,
+                        Function<MovieSearchCache.SearchKey, int[]> scanner) {
+            this.movies = movies;
+            this.version = version;
+            this.storeVersion = storeVersion;
+            this.scanner = scanner;
+        }
     }
 }
@@ -19,6 +19,9 @@ import java.util.Optional;
 @Controller
 public class MoviesController {
     private static final Logger logger = LogManager.getLogger(MoviesController.class);
+    private static final String NO_RESULTS_MESSAGE = "Arrr! No movie treasures found matching yer search criteria, matey!";
+    private static final String SINGLE_RESULT_MESSAGE = "Ahoy! Found 1 movie treasure for ye!";
+    private static final int MAX_PAGE_SIZE = 100;
 
     @Autowired
     private MovieService movieService;
@@ -50,6 +53,7 @@ public class MoviesController {
             model.addAttribute("searchPerformed", false);
         }
         
+        RequestTracer.recordResultCount(movies.size());
         model.addAttribute("movies", movies);
         model.addAttribute("allGenres", movieService.getAllGenres());
         return "movies";
@@ -66,7 +70,7 @@ public class MoviesController {
             @RequestParam(value = "id", required = false) Long id,
             @RequestParam(value = "genre", required = false) String genre) {
         
-        logger.info("Ahoy! API search request received - name: {}, id: {}, genre: {}", name, id, genre);
+        logger.trace("Ahoy! API search request received - name: {}, id: {}, genre: {}", name, id, genre);
         
         try {
             // Validate ID parameter if provided
@@ -78,25 +82,19 @@ public class MoviesController {
             }
             
             List<Movie> searchResults = movieService.searchMovies(name, id, genre);
+            RequestTracer.recordResultCount(searchResults.size());
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
+            int totalResults = searchResults.size();
+            Map<String, Object> response = new HashMap<>(8);
+            response.put("success", Boolean.TRUE);
             response.put("movies", searchResults);
-            response.put("totalResults", searchResults.size());
-            response.put("searchCriteria", Map.of(
-                "name", name != null ? name : "",
-                "id", id != null ? id : "",
-                "genre", genre != null ? genre : ""
-            ));
+            response.put("totalResults", totalResults);
+            response.put("searchCriteria", new SearchCriteria(name, id, genre));
+            response.put("message", searchMessage(totalResults));
             
-            if (searchResults.isEmpty()) {
-                response.put("message", "Arrr! No movie treasures found matching yer search criteria, matey!");
-            } else {
-                response.put("message", String.format("Ahoy! Found %d movie treasure%s for ye!", 
-                    searchResults.size(), searchResults.size() == 1 ? "" : "s"));
+            if (logger.isTraceEnabled()) {
+                logger.trace("Shiver me timbers! Search completed successfully! Returning {} results", totalResults);
             }
-            
-            logger.info("Shiver me timbers! Search completed successfully! Returning {} results", searchResults.size());
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
@@ -108,6 +106,33 @@ public class MoviesController {
         }
     }
 
+    /**
+     * Keyset-paged catalog listing - returns JSON response
+     * Walk the whole treasure hoard one page at a time, straight from the storage backend!
+     */
+    @GetMapping("/movies/page")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> getMoviesPage(
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        if (after < 0 || limit <= 0 || limit > MAX_PAGE_SIZE) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Arrr! Invalid page, matey! 'after' must not be negative and 'limit' must be 1-" + MAX_PAGE_SIZE + ".");
+            errorResponse.put("success", false);
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+
+        List<Movie> page = movieService.getMoviesPage(after, limit);
+        RequestTracer.recordResultCount(page.size());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("movies", page);
+        // A short page is the last one; otherwise the last ID is the cursor for the next page
+        response.put("nextAfter", page.size() < limit ? null : page.get(page.size() - 1).getId());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/movies/{id}/details")
     public String getMovieDetails(@PathVariable("id") Long movieId, org.springframework.ui.Model model) {
         logger.info("Fetching details for movie ID: {}", movieId);
@@ -127,4 +152,42 @@ public class MoviesController {
         
         return "movie-details";
     }
-}
\ No newline at end of file
+
+    private static String searchMessage(int totalResults) {
+        if (totalResults == 0) {
+            return NO_RESULTS_MESSAGE;
+        }
+        if (totalResults == 1) {
+            return SINGLE_RESULT_MESSAGE;
+        }
+        return "Ahoy! Found " + totalResults + " movie treasures for ye!";
+    }
+
+    /**
+     * Echo of the search criteria in API responses. Serializes like the map it replaces
+     * without building one per request.
+     */
+    static final class SearchCriteria {
+        private final String name;
+        private final Object id;
+        private final String genre;
+
+        SearchCriteria(String name, Long id, String genre) {
+            this.name = name != null ? name : "";
+            this.id = id != null ? id : "";
+            this.genre = genre != null ? genre : "";
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Object getId() {
+            return id;
+        }
+
+        public String getGenre() {
+            return genre;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * Evaluates search predicates over the catalog, splitting expensive scans across a dedicated
+ * fork-join pool. The catalog is cut into fixed-size chunks that workers claim one at a time,
+ * and per-chunk matches are merged back in catalog order. Each request uses at most
+ * {@code maxParallelismPerRequest} workers (including the calling thread), so one heavy query
+ * cannot take over the whole pool.
+ */
+@Component
+public class PartitionedSearchExecutor {
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+    public static final long DEFAULT_COST_THRESHOLD = 100_000L;
+    public static final int DEFAULT_MAX_PARALLELISM_PER_REQUEST = 4;
+
+    // Scans of up to one chunk reuse a per-thread match buffer; bigger ones get a fresh one,
+    // so every request and worker thread keeps at most a chunk-sized array alive
+    private static final ThreadLocal<int[]> SCRATCH = ThreadLocal.withInitial(() -> new int[256]);
+
+    private final int poolSize;
+    private final int chunkSize;
+    private final long costThreshold;
+    private final int maxParallelismPerRequest;
+    // Created on the first parallel search, so sequential-only executors never start threads
+    private ForkJoinPool pool;
+    private boolean shutdown;
+
+    public PartitionedSearchExecutor() {
+        this(0, DEFAULT_CHUNK_SIZE, DEFAULT_COST_THRESHOLD, DEFAULT_MAX_PARALLELISM_PER_REQUEST);
+    }
+
+    /**
+     * @param poolSize Worker threads in the search pool, or 0 for one per available processor
+     * @param chunkSize Movies per chunk
+     * @param costThreshold Minimum estimated scan cost before a search is run in parallel
+     * @param maxParallelismPerRequest Maximum workers a single search may use, including the caller
+     */
+    @Autowired
+    public PartitionedSearchExecutor(@Value("${movies.search.parallel.pool-size:0}") int poolSize,
+                                     @Value("${movies.search.parallel.chunk-size:" + DEFAULT_CHUNK_SIZE + "}") int chunkSize,
+                                     @Value("${movies.search.parallel.cost-threshold:" + DEFAULT_COST_THRESHOLD + "}") long costThreshold,
+                                     @Value("${movies.search.parallel.max-parallelism-per-request:" + DEFAULT_MAX_PARALLELISM_PER_REQUEST + "}") int maxParallelismPerRequest) {
+        if (chunkSize <= 0 || maxParallelismPerRequest <= 0 || poolSize < 0) {
+            throw new IllegalArgumentException("Parallel search settings must be positive");
+        }
+        this.poolSize = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = chunkSize;
+        this.costThreshold = costThreshold;
+        this.maxParallelismPerRequest = maxParallelismPerRequest;
+    }
+
+    /**
+     * Finds the ordinals of all movies matching the predicate.
+     *
+     * @param movies Catalog to scan; must support fast random access
+     * @param predicate Match condition, which must be safe to call from several threads
+     * @param cost Estimated cost of scanning the whole catalog with this predicate
+     * @return Ordinals of the matching movies, in catalog order
+     */
+    public int[] search(List<Movie> movies, Predicate<Movie> predicate, long cost) {
+        int size = movies.size();
+        int chunks = (size + chunkSize - 1) / chunkSize;
+        int workers = Math.min(Math.min(maxParallelismPerRequest, poolSize + 1), chunks);
+        if (cost < costThreshold || workers < 2) {
+            return scan(movies, predicate, 0, size);
+        }
+
+        int[][] chunkMatches = new int[chunks][];
+        AtomicInteger nextChunk = new AtomicInteger();
+        CountDownLatch chunksDone = new CountDownLatch(chunks);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Runnable worker = () -> {
+            int chunk;
+            while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+                try {
+                    int from = chunk * chunkSize;
+                    chunkMatches[chunk] = scan(movies, predicate, from, Math.min(size, from + chunkSize));
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    chunksDone.countDown();
+                }
+            }
+        };
+
+        ForkJoinPool pool = pool();
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[workers - 1];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = pool.submit(worker);
+        }
+        // The calling thread works too instead of idling until the pool is done
+        worker.run();
+        // Wait only for chunks other workers have claimed; tasks still queued behind other
+        // requests' work are cancelled rather than waited for, since there is nothing left for them
+        awaitUninterruptibly(chunksDone);
+        for (ForkJoinTask<?> task : tasks) {
+            task.cancel(false);
+        }
+
+        Throwable t = failure.get();
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return merge(chunkMatches);
+    }
+
+    /**
+     * @return Executor that always scans on the calling thread and never starts a worker pool
+     */
+    public static PartitionedSearchExecutor sequential() {
+        return new PartitionedSearchExecutor(0, DEFAULT_CHUNK_SIZE, DEFAULT_COST_THRESHOLD, 1);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        shutdown = true;
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private synchronized ForkJoinPool pool() {
+        if (shutdown) {
+            throw new IllegalStateException("Search executor has been shut down");
+        }
+        if (pool == null) {
+            pool = new ForkJoinPool(poolSize, PartitionedSearchExecutor::newWorkerThread, null, false);
+        }
+        return pool;
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int[] scan(List<Movie> movies, Predicate<Movie> predicate, int from, int to) {
+        int[] matches = scratch(to - from);
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (predicate.test(movies.get(i))) {
+                matches[count++] = i;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    private int[] scratch(int size) {
+        if (size > chunkSize) {
+            return new int[size];
+        }
+        int[] scratch = SCRATCH.get();
+        if (scratch.length < size) {
+            scratch = new int[Math.min(chunkSize, Math.max(size, scratch.length * 2))];
+            SCRATCH.set(scratch);
+        }
+        return scratch;
+    }
+
+    private static int[] merge(int[][] chunkMatches) {
+        int total = 0;
+        for (int[] matches : chunkMatches) {
+            total += matches.length;
+        }
+        int[] merged = new int[total];
+        int offset = 0;
+        for (int[] matches : chunkMatches) {
+            System.arraycopy(matches, 0, merged, offset, matches.length);
+            offset += matches.length;
+        }
+        return merged;
+    }
+
+    private static ForkJoinWorkerThread newWorkerThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("movie-search-" + thread.getPoolIndex());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,118 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Timings for one HTTP request: total duration plus named stages such as service calls and
+ * view rendering. Stages are kept in fixed arrays while the request runs; repeated stages with
+ * the same name are summed. A trace is only read after it has been finished.
+ */
+public final class RequestTrace {
+    // Requests have at most six distinct stages today; keep the per-request arrays small
+    private static final int MAX_STAGES = 8;
+
+    private final String method;
+    private final String path;
+    private final String query;
+    private final long startedAt;
+    private final long startNanos;
+    private final String[] stageNames = new String[MAX_STAGES];
+    private final long[] stageNanos = new long[MAX_STAGES];
+    private int stageCount;
+    private int resultCount = -1;
+    private int status;
+    private long durationNanos;
+
+    RequestTrace(String method, String path, String query, long startNanos) {
+        this.method = method;
+        this.path = path;
+        this.query = query;
+        this.startedAt = System.currentTimeMillis();
+        this.startNanos = startNanos;
+    }
+
+    void addStage(String name, long nanos) {
+        for (int i = 0; i < stageCount; i++) {
+            if (stageNames[i].equals(name)) {
+                stageNanos[i] += nanos;
+                return;
+            }
+        }
+        if (stageCount < MAX_STAGES) {
+            stageNames[stageCount] = name;
+            stageNanos[stageCount++] = nanos;
+        }
+    }
+
+    void setResultCount(int resultCount) {
+        this.resultCount = resultCount;
+    }
+
+    void finish(int status, long endNanos) {
+        this.status = status;
+        this.durationNanos = endNanos - startNanos;
+    }
+
+    /**
+     * @return Time recorded so far for the named stage, or 0 if it has not run
+     */
+    long getStageNanos(String name) {
+        for (int i = 0; i < stageCount; i++) {
+            if (stageNames[i].equals(name)) {
+                return stageNanos[i];
+            }
+        }
+        return 0;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public double getDurationMs() {
+        return durationNanos / 1_000_000.0;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return Number of results returned, or -1 if the endpoint did not report one
+     */
+    public int getResultCount() {
+        return resultCount;
+    }
+
+    /**
+     * @return Stage durations in milliseconds, in the order the stages first ran
+     */
+    public Map<String, Double> getStages() {
+        Map<String, Double> stages = new LinkedHashMap<>();
+        for (int i = 0; i < stageCount; i++) {
+            stages.put(stageNames[i], stageNanos[i] / 1_000_000.0);
+        }
+        return stages;
+    }
+}
@@ -0,0 +1,72 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+/**
+ * Lightweight in-process tracing API. The trace for the current request is bound to the
+ * serving thread by {@link TracingInterceptor}; services mark stages with
+ * <pre>
+ * try (RequestTracer.Span span = RequestTracer.span("searchMovies")) { ... }
+ * </pre>
+ * Outside a traced request every call is a cheap no-op.
+ */
+public final class RequestTracer {
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private RequestTracer() {
+    }
+
+    static RequestTrace begin(String method, String path, String query) {
+        RequestTrace trace = new RequestTrace(method, path, query, System.nanoTime());
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static RequestTrace end() {
+        RequestTrace trace = CURRENT.get();
+        // Clearing rather than removing keeps the pooled thread's map entry for the next request
+        CURRENT.set(null);
+        return trace;
+    }
+
+    static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Starts timing a stage of the current request; closing the span records it.
+     */
+    public static Span span(String stage) {
+        RequestTrace trace = CURRENT.get();
+        return trace == null ? Span.NOOP : new Span(trace, stage, System.nanoTime());
+    }
+
+    /**
+     * Records how many results the current request returned.
+     */
+    public static void recordResultCount(int count) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.setResultCount(count);
+        }
+    }
+
+    public static final class Span implements AutoCloseable {
+        private static final Span NOOP = new Span(null, null, 0);
+
+        private final RequestTrace trace;
+        private final String stage;
+        private final long startNanos;
+
+        private Span(RequestTrace trace, String stage, long startNanos) {
+            this.trace = trace;
+            this.stage = stage;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            if (trace != null) {
+                trace.addStage(stage, System.nanoTime() - startNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import java.util.List;
+
+/**
+ * Storage backend for movie reviews, selected together with {@link MovieRepository}.
+ */
+public interface ReviewRepository {
+
+    List<Review> findByMovieId(long movieId);
+}
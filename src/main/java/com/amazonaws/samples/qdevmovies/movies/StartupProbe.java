@@ -0,0 +1,82 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Measures time-to-first-request: from JVM start until the first {@code /movies/search}
+ * response has been read. Used by the fast-start build profile to train the AppCDS archive
+ * and to report startup time, optionally exiting the application once the probe is done.
+ */
+@Component
+@ConditionalOnProperty(name = "movies.startup.probe.enabled", havingValue = "true")
+public class StartupProbe {
+    private static final Logger logger = LogManager.getLogger(StartupProbe.class);
+
+    private final ApplicationContext context;
+    private final String reportFile;
+    private final boolean exitAfterProbe;
+
+    public StartupProbe(ApplicationContext context,
+                        @Value("${movies.startup.probe.report-file:}") String reportFile,
+                        @Value("${movies.startup.probe.exit:false}") boolean exitAfterProbe) {
+        this.context = context;
+        this.reportFile = reportFile;
+        this.exitAfterProbe = exitAfterProbe;
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        String port = event.getApplicationContext().getEnvironment().getProperty("local.server.port", "8080");
+        int status = -1;
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + "/movies/search").openConnection();
+            status = connection.getResponseCode();
+            try (InputStream in = connection.getInputStream()) {
+                while (in.read() != -1) {
+                    // drain the response so the full request is measured
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Startup probe request failed: {}", e.getMessage());
+        }
+
+        long timeToFirstRequest = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        logger.info("Time to first request: {} ms (status {})", timeToFirstRequest, status);
+        writeReport(timeToFirstRequest, status);
+
+        if (exitAfterProbe) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    private void writeReport(long timeToFirstRequest, int status) {
+        if (reportFile.isEmpty()) {
+            return;
+        }
+        String line = String.format("time-to-first-request-ms=%d status=%d%n", timeToFirstRequest, status);
+        try {
+            Files.write(Paths.get(reportFile), line.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.error("Failed to write startup report to {}: {}", reportFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as the equivalent generic cell rate algorithm so that
+ * the whole bucket state fits in one {@link AtomicLong}: the time at which the bucket would be
+ * full again if nothing else were taken from it.
+ */
+class TokenBucket {
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param tokensPerSecond Refill rate
+     * @param burst Bucket capacity, i.e. the largest cost that can be taken at once
+     * @param now Current {@link System#nanoTime()}; the bucket starts full
+     */
+    TokenBucket(double tokensPerSecond, long burst, long now) {
+        if (tokensPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Token bucket rate and burst must be positive");
+        }
+        this.nanosPerToken = Math.max(1L, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstNanos = burst * nanosPerToken;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes {@code cost} tokens if they are available.
+     *
+     * @return 0 if the tokens were taken, otherwise how many nanoseconds to wait before retrying
+     */
+    long tryAcquire(int cost, long now) {
+        long costNanos = cost * nanosPerToken;
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + costNanos;
+            long overdraft = next - now - burstNanos;
+            if (overdraft > 0) {
+                return overdraft;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return true if the bucket has refilled completely, so forgetting it changes nothing
+     */
+    boolean isFull(long now) {
+        return fullAt.get() - now <= 0;
+    }
+}
@@ -0,0 +1,72 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Local exporter for finished request traces. Keeps the most recent traces in a fixed-size
+ * in-memory ring and writes any request slower than {@code movies.tracing.slow-threshold}
+ * to the slow-query log.
+ */
+@Component
+public class TraceRecorder {
+    private static final Logger slowQueryLogger = LogManager.getLogger("slow-queries");
+
+    private final AtomicReferenceArray<RequestTrace> ring;
+    private final AtomicLong next = new AtomicLong();
+    private final long slowThresholdNanos;
+
+    public TraceRecorder() {
+        this(256, Duration.ofMillis(200));
+    }
+
+    @Autowired
+    public TraceRecorder(@Value("${movies.tracing.ring-size:256}") int ringSize,
+                         @Value("${movies.tracing.slow-threshold:200ms}") Duration slowThreshold) {
+        if (ringSize <= 0) {
+            throw new IllegalArgumentException("Trace ring size must be positive");
+        }
+        this.ring = new AtomicReferenceArray<>(ringSize);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    public void record(RequestTrace trace) {
+        ring.set((int) (next.getAndIncrement() % ring.length()), trace);
+        if (trace.getDurationNanos() >= slowThresholdNanos) {
+            slowQueryLogger.warn("Slow request {} {}{} took {} ms - status: {}, results: {}, stages (ms): {}",
+                    trace.getMethod(), trace.getPath(), trace.getQuery() != null ? "?" + trace.getQuery() : "",
+                    String.format("%.1f", trace.getDurationMs()), trace.getStatus(), trace.getResultCount(),
+                    trace.getStages());
+        }
+    }
+
+    /**
+     * @param limit Maximum number of traces to return
+     * @return The slowest of the recently recorded requests, slowest first
+     */
+    public List<RequestTrace> slowest(int limit) {
+        List<RequestTrace> traces = new ArrayList<>(ring.length());
+        for (int i = 0; i < ring.length(); i++) {
+            RequestTrace trace = ring.get(i);
+            if (trace != null) {
+                traces.add(trace);
+            }
+        }
+        traces.sort(Comparator.comparingLong(RequestTrace::getDurationNanos).reversed());
+        return traces.subList(0, Math.min(Math.max(0, limit), traces.size()));
+    }
+
+    public double getSlowThresholdMs() {
+        return slowThresholdNanos / 1_000_000.0;
+    }
+}
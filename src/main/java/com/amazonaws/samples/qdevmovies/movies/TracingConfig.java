@@ -0,0 +1,43 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Traces the movie endpoints unless {@code movies.tracing.enabled} is false, including the time
+ * spent writing JSON response bodies.
+ */
+@Configuration
+@ConditionalOnProperty(name = "movies.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig implements WebMvcConfigurer {
+
+    private final TraceRecorder recorder;
+
+    public TracingConfig(TraceRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new TracingInterceptor(recorder)).addPathPatterns("/movies", "/movies/**");
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            HttpMessageConverter<?> converter = converters.get(i);
+            if (converter instanceof MappingJackson2HttpMessageConverter && !(converter instanceof TracingMessageConverter)) {
+                MappingJackson2HttpMessageConverter jackson = (MappingJackson2HttpMessageConverter) converter;
+                TracingMessageConverter tracing = new TracingMessageConverter(jackson.getObjectMapper());
+                tracing.setSupportedMediaTypes(jackson.getSupportedMediaTypes());
+                converters.set(i, tracing);
+            }
+        }
+    }
+}
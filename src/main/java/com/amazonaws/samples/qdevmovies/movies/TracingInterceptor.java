@@ -0,0 +1,56 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Opens a trace for each request and records the web-layer stages around the services' own spans:
+ * "handler" runs from dispatch until the handler returns, less any "serialize" time that
+ * {@link TracingMessageConverter} spent writing a JSON body in the meantime, and "render" covers
+ * Thymeleaf view rendering.
+ */
+public class TracingInterceptor implements HandlerInterceptor {
+    private static final String HANDLED_AT = TracingInterceptor.class.getName() + ".handledAt";
+
+    private final TraceRecorder recorder;
+
+    public TracingInterceptor(TraceRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTracer.begin(request.getMethod(), request.getRequestURI(), request.getQueryString());
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        RequestTrace trace = RequestTracer.current();
+        if (trace != null) {
+            long now = System.nanoTime();
+            trace.addStage("handler", now - trace.getStartNanos() - trace.getStageNanos("serialize"));
+            request.setAttribute(HANDLED_AT, now);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        RequestTrace trace = RequestTracer.end();
+        if (trace == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        Object handledAt = request.getAttribute(HANDLED_AT);
+        if (handledAt instanceof Long) {
+            trace.addStage("render", now - (Long) handledAt);
+        }
+        trace.finish(response.getStatus(), now);
+        recorder.record(trace);
+    }
+}
@@ -0,0 +1,28 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * JSON converter that records writing a response body as the "serialize" stage of the current trace.
+ * Installed by {@link TracingConfig} in place of Spring's own Jackson converter, sharing its mapper.
+ */
+public class TracingMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TracingMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        try (RequestTracer.Span span = RequestTracer.span("serialize")) {
+            super.writeInternal(object, type, outputMessage);
+        }
+    }
+}
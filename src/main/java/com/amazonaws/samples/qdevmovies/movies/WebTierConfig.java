@@ -0,0 +1,63 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+
+/**
+ * Static asset pipeline for the "web-tuned" profile.
+ * Stylesheets are served from content-fingerprinted URLs with long-lived immutable cache headers,
+ * and pre-compressed .gz/.br variants generated at build time are preferred when the client accepts them.
+ * Response compression, HTTP/2 and connector tuning live in application-web-tuned.yml.
+ */
+@Configuration
+@Profile("web-tuned")
+public class WebTierConfig implements WebMvcConfigurer {
+
+    private final Duration cssMaxAge;
+
+    public WebTierConfig(@Value("${movies.web.css-max-age:365d}") Duration cssMaxAge) {
+        this.cssMaxAge = cssMaxAge;
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/css/**")
+                .addResourceLocations("classpath:/static/css/")
+                .setCacheControl(immutable(cssMaxAge))
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+    /**
+     * Rewrites template links such as {@code @{/css/movies.css}} to their fingerprinted URLs.
+     */
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+
+    /**
+     * Public, long-lived cache control with the {@code immutable} directive, which Spring 5's
+     * {@link CacheControl} builder has no option for. Safe only for fingerprinted URLs.
+     */
+    static CacheControl immutable(Duration maxAge) {
+        String headerValue = CacheControl.maxAge(maxAge).cachePublic().getHeaderValue() + ", immutable";
+        return new CacheControl() {
+            @Override
+            public String getHeaderValue() {
+                return headerValue;
+            }
+        };
+    }
+}
@@ -0,0 +1,25 @@
+CREATE TABLE IF NOT EXISTS movies (
+    id BIGINT PRIMARY KEY,
+    movie_name VARCHAR(200) NOT NULL,
+    director VARCHAR(200) NOT NULL,
+    release_year INT NOT NULL,
+    genre VARCHAR(100) NOT NULL,
+    description VARCHAR(4000),
+    duration INT NOT NULL,
+    imdb_rating DOUBLE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_movies_name ON movies (movie_name);
+CREATE INDEX IF NOT EXISTS idx_movies_genre ON movies (genre);
+CREATE INDEX IF NOT EXISTS idx_movies_release_year ON movies (release_year);
+
+CREATE TABLE IF NOT EXISTS reviews (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    movie_id BIGINT NOT NULL,
+    user_name VARCHAR(100) NOT NULL,
+    avatar_emoji VARCHAR(32) NOT NULL,
+    rating DOUBLE NOT NULL,
+    comment_text VARCHAR(2000) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_reviews_movie_id ON reviews (movie_id);
@@ -0,0 +1,60 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the captain's slow-request log - only the captain gets to read it, matey!
+ */
+public class AdminControllerTest {
+
+    @Nested
+    @SpringBootTest
+    @AutoConfigureMockMvc
+    class Disabled {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        @DisplayName("Should not expose slow requests unless enabled")
+        public void testHiddenByDefault() throws Exception {
+            mockMvc.perform(get("/admin/slow-requests"))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @SpringBootTest(properties = "movies.tracing.admin-endpoint=true")
+    @AutoConfigureMockMvc
+    class Enabled {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        @DisplayName("Should list traced requests with their stage timings when enabled")
+        public void testListsTracedRequests() throws Exception {
+            mockMvc.perform(get("/movies/search").param("name", "hero"))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/admin/slow-requests").param("limit", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.slowThresholdMs").value(200.0))
+                    .andExpect(jsonPath("$.totalResults").value(greaterThanOrEqualTo(1)))
+                    .andExpect(jsonPath("$.requests[0].path").value("/movies/search"))
+                    .andExpect(jsonPath("$.requests[0].stages.searchMovies").exists())
+                    .andExpect(jsonPath("$.requests[0].stages.serialize").exists());
+        }
+    }
+}
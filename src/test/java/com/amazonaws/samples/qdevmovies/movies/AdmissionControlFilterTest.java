@@ -0,0 +1,163 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for admission control on the search endpoints - no scallywag hogs the whole ship!
+ */
+public class AdmissionControlFilterTest {
+
+    private AdmissionProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new AdmissionProperties();
+        properties.setTokensPerSecond(0.001);
+        properties.setBurst(10);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new AdmissionControlFilter(properties, meterRegistry);
+    }
+
+    private MockHttpServletRequest searchRequest(String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/movies/search");
+        request.setRemoteAddr(client);
+        return request;
+    }
+
+    private MockHttpServletResponse execute(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    @DisplayName("Should charge full-catalog scans more than ID lookups")
+    public void testCostEstimate() {
+        MockHttpServletRequest fullScan = searchRequest("10.0.0.1");
+        MockHttpServletRequest filtered = searchRequest("10.0.0.1");
+        filtered.setParameter("genre", "Drama");
+        MockHttpServletRequest idLookup = searchRequest("10.0.0.1");
+        idLookup.setParameter("id", "3");
+
+        assertEquals(5, filter.estimateCost(fullScan));
+        assertEquals(2, filter.estimateCost(filtered));
+        assertEquals(1, filter.estimateCost(idLookup));
+    }
+
+    @Test
+    @DisplayName("Should return 429 once a client has spent its tokens")
+    public void testRateLimited() throws Exception {
+        assertEquals(200, execute(searchRequest("10.0.0.1")).getStatus());
+        assertEquals(200, execute(searchRequest("10.0.0.1")).getStatus());
+
+        MockHttpServletResponse limited = execute(searchRequest("10.0.0.1"));
+        assertEquals(429, limited.getStatus(), "Third full scan should exceed the burst");
+        assertNotNull(limited.getHeader("Retry-After"), "Rate limited response should say when to retry");
+        assertTrue(limited.getContentAsString().contains("\"success\":false"));
+
+        assertEquals(200, execute(searchRequest("10.0.0.2")).getStatus(), "Other clients should not be affected");
+        assertEquals(1.0, meterRegistry.get("movies.admission.requests").tag("outcome", "rate_limited").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should key buckets by a configured API key when one is sent")
+    public void testApiKeyClient() throws Exception {
+        properties.getApiKeys().add("pirate-crew");
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = searchRequest("10.0.0." + i);
+            request.addHeader("X-API-Key", "pirate-crew");
+            assertEquals(200, execute(request).getStatus());
+        }
+        MockHttpServletRequest request = searchRequest("10.0.0.9");
+        request.addHeader("X-API-Key", "pirate-crew");
+
+        assertEquals(429, execute(request).getStatus(), "Requests sharing an API key should share a bucket");
+    }
+
+    @Test
+    @DisplayName("Should rate limit by address when a client rotates unknown API keys")
+    public void testRotatingApiKeysRateLimited() throws Exception {
+        properties.getApiKeys().add("pirate-crew");
+        int status = 200;
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = searchRequest("10.0.0.1");
+            request.addHeader("X-API-Key", "forged-" + i);
+            status = execute(request).getStatus();
+        }
+
+        assertEquals(429, status, "Unknown API keys should not earn a fresh bucket");
+    }
+
+    @Test
+    @DisplayName("Should never track more clients than the configured cap")
+    public void testTrackedClientCap() throws Exception {
+        properties.setMaxTrackedClients(2);
+
+        assertEquals(200, execute(searchRequest("10.0.0.1")).getStatus());
+        assertEquals(200, execute(searchRequest("10.0.0.2")).getStatus());
+        assertEquals(503, execute(searchRequest("10.0.0.3")).getStatus(), "New clients past the cap should be shed");
+        assertEquals(200, execute(searchRequest("10.0.0.1")).getStatus(), "Tracked clients should still be served");
+        assertEquals(2.0, meterRegistry.get("movies.admission.clients").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should shed load with 503 when too many requests are in flight")
+    public void testConcurrencyLimit() throws Exception {
+        properties.setMaxConcurrentRequests(1);
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain slowChain = (req, res) -> {
+            try {
+                nested.set(execute(searchRequest("10.0.0.2")));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+
+        MockHttpServletResponse outer = new MockHttpServletResponse();
+        filter.doFilter(searchRequest("10.0.0.1"), outer, slowChain);
+
+        assertEquals(200, outer.getStatus());
+        assertEquals(503, nested.get().getStatus(), "Request arriving while at the limit should be shed");
+        assertEquals(0.0, meterRegistry.get("movies.admission.in.flight").gauge().value(), "Slots should be released");
+    }
+
+    @Test
+    @DisplayName("Should rate limit variant spellings of the search paths")
+    public void testVariantPathsRateLimited() throws Exception {
+        String[] variants = {"/movies/search/", "/movies/search;x=1", "/movies/%73earch", "/movies/", "/movies;jsessionid=abc"};
+        for (String variant : variants) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", variant);
+            assertTrue(AdmissionControlFilter.isSearchPath(request), variant + " should be treated as a search path");
+        }
+
+        int status = 200;
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", i % 2 == 0 ? "/movies/search/" : "/movies/search;x=" + i);
+            request.setRemoteAddr("10.0.0.1");
+            status = execute(request).getStatus();
+        }
+        assertEquals(429, status, "Trailing slashes and path parameters should not bypass the limiter");
+    }
+
+    @Test
+    @DisplayName("Should not apply to other endpoints")
+    public void testOtherPathsNotFiltered() throws Exception {
+        properties.setBurst(1);
+        MockHttpServletRequest details = new MockHttpServletRequest("GET", "/movies/1/details");
+
+        assertEquals(200, execute(details).getStatus(), "Details pages should bypass admission control");
+    }
+}
@@ -0,0 +1,165 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the movie and review storage backends - the JSON chest and the database vault
+ * should hold exactly the same treasure!
+ */
+public class MovieRepositoryTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private JsonMovieRepository jsonMovies;
+    private JdbcMovieRepository jdbcMovies;
+
+    @BeforeEach
+    public void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("classpath:db/schema.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database));
+        jsonMovies = new JsonMovieRepository();
+        jdbcMovies = new JdbcMovieRepository(jdbcTemplate, transactionTemplate, 5);
+        jdbcMovies.seedIfEmpty();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should seed the database with the same movies as the JSON backend")
+    public void testSeededCatalogMatchesJson() {
+        List<Movie> expected = jsonMovies.findAll();
+        List<Movie> actual = jdbcMovies.findAll();
+
+        assertEquals(expected.size(), actual.size(), "Database should hold every movie from movies.json");
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId(), "Movies should be ordered by ID");
+            assertEquals(expected.get(i).getMovieName(), actual.get(i).getMovieName());
+            assertEquals(expected.get(i).getYear(), actual.get(i).getYear());
+            assertEquals(expected.get(i).getGenre(), actual.get(i).getGenre());
+        }
+
+        jdbcMovies.seedIfEmpty();
+        assertEquals(expected.size(), jdbcMovies.findAll().size(), "Seeding should only happen once");
+    }
+
+    @Test
+    @DisplayName("Should seed an empty database on first use instead of at construction")
+    public void testSeedsOnFirstUse() {
+        jdbcTemplate.update("DELETE FROM movies");
+        JdbcMovieRepository repository = new JdbcMovieRepository(jdbcTemplate, transactionTemplate, 5);
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movies", Integer.class),
+                "Building the repository should not touch the database");
+        assertTrue(repository.findById(2L).isPresent(), "First lookup should seed the table");
+        assertEquals(jsonMovies.findAll().size(), repository.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Should roll back a seed that fails partway and retry it on the next start")
+    public void testFailedSeedRolledBack() {
+        jdbcTemplate.update("DELETE FROM movies");
+        List<Movie> broken = new ArrayList<>(jsonMovies.findAll());
+        broken.add(broken.get(0)); // duplicate ID fails the last batch
+
+        JdbcMovieRepository failed = new JdbcMovieRepository(jdbcTemplate, transactionTemplate, 5);
+        assertThrows(DataAccessException.class, () -> failed.seedIfEmpty(() -> broken));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM movies", Integer.class),
+                "Earlier batches should be rolled back with the failed one");
+
+        JdbcMovieRepository restarted = new JdbcMovieRepository(jdbcTemplate, transactionTemplate, 5);
+        assertEquals(jsonMovies.findAll().size(), restarted.findAll().size(), "Next start should seed the full catalog");
+    }
+
+    @Test
+    @DisplayName("Should find movies by ID in both backends")
+    public void testFindById() {
+        Optional<Movie> fromJson = jsonMovies.findById(2L);
+        Optional<Movie> fromDb = jdbcMovies.findById(2L);
+
+        assertTrue(fromJson.isPresent());
+        assertTrue(fromDb.isPresent());
+        assertEquals("The Family Boss", fromDb.get().getMovieName());
+        assertFalse(jdbcMovies.findById(999L).isPresent(), "Unknown ID should not be found");
+    }
+
+    @Test
+    @DisplayName("Should page through the catalog with keyset pagination")
+    public void testKeysetPagination() {
+        for (MovieRepository repository : new MovieRepository[] {jsonMovies, jdbcMovies}) {
+            List<Long> seen = new ArrayList<>();
+            long cursor = 0;
+            List<Movie> page;
+            while (!(page = repository.findPage(cursor, 5)).isEmpty()) {
+                assertTrue(page.size() <= 5, "Page should not exceed the limit");
+                for (Movie movie : page) {
+                    assertTrue(movie.getId() > cursor, "Page should start after the cursor");
+                    seen.add(movie.getId());
+                }
+                cursor = page.get(page.size() - 1).getId();
+            }
+
+            assertEquals(jsonMovies.findAll().size(), seen.size(), "Paging should visit every movie exactly once");
+            assertEquals(seen.stream().sorted().distinct().count(), seen.size(), "Pages should be in ID order without overlap");
+        }
+    }
+
+    @Test
+    @DisplayName("Should bulk import movies in batches")
+    public void testBulkImport() {
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            movies.add(new Movie(1000 + i, "Bulk Movie " + i, "Director", 2000, "Drama", "Description", 90, 3.0));
+        }
+
+        long versionBefore = jdbcMovies.getVersion();
+        jdbcMovies.saveAll(movies);
+
+        assertTrue(jdbcMovies.getVersion() > versionBefore, "Writes should bump the repository version");
+
+        assertEquals(23, jdbcMovies.findPage(999, 100).size(), "Every batched movie should be stored");
+    }
+
+    @Test
+    @DisplayName("Should serve the same reviews from both backends")
+    public void testReviewsMatchJson() {
+        JsonReviewRepository jsonReviews = new JsonReviewRepository();
+        JdbcReviewRepository jdbcReviews = new JdbcReviewRepository(jdbcTemplate, transactionTemplate, 5);
+        jdbcReviews.seedIfEmpty();
+
+        List<Review> expected = jsonReviews.findByMovieId(1L);
+        List<Review> actual = jdbcReviews.findByMovieId(1L);
+
+        assertFalse(expected.isEmpty(), "Movie 1 should have reviews");
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getUserName(), actual.get(i).getUserName(), "Review order should be kept");
+            assertEquals(expected.get(i).getComment(), actual.get(i).getComment());
+        }
+        assertTrue(jdbcReviews.findByMovieId(999L).isEmpty(), "Unknown movie should have no reviews");
+    }
+}
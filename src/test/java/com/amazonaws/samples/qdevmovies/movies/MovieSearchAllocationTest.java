@@ -0,0 +1,76 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allocation regression test for the search hot path, matey! Runs {@link MovieSearchBenchmark}
+ * under the JMH GC profiler and fails if any benchmark allocates more bytes per operation
+ * than its budget allows.
+ */
+public class MovieSearchAllocationTest {
+    private static final Logger logger = LogManager.getLogger(MovieSearchAllocationTest.class);
+
+    // Cached searches only allocate the read-only result view
+    private static final double CACHED_SEARCH_BUDGET = 64;
+    // Tracing adds the request's trace record, kept in the recorder's ring, and a span per stage
+    private static final double TRACED_SEARCH_BUDGET = 320;
+    // Catalog scans allocate the predicate and the exact-size result array
+    private static final double CATALOG_SCAN_BUDGET = 256;
+    // The JSON endpoint adds the response map, the criteria echo, the result message and the ResponseEntity
+    private static final double SEARCH_API_BUDGET = 768;
+
+    @Test
+    @DisplayName("Should keep search allocations per operation within budget")
+    public void testSearchAllocationBudget() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(MovieSearchBenchmark.class.getName() + "\\.")
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.milliseconds(300))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.milliseconds(300))
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, Double> budgets = new HashMap<>();
+        budgets.put("cachedSearch", CACHED_SEARCH_BUDGET);
+        budgets.put("tracedSearch", TRACED_SEARCH_BUDGET);
+        budgets.put("catalogScan", CATALOG_SCAN_BUDGET);
+        budgets.put("searchMoviesApi", SEARCH_API_BUDGET);
+        assertEquals(budgets.size(), results.size(), "Every search benchmark should have run");
+        for (RunResult result : results) {
+            BenchmarkParams params = result.getParams();
+            String benchmark = params.getBenchmark().substring(params.getBenchmark().lastIndexOf('.') + 1);
+            Result<?> allocation = result.getSecondaryResults().get("gc.alloc.rate.norm");
+            assertNotNull(allocation, "GC profiler should report allocation per operation");
+            double bytesPerOp = allocation.getScore();
+            logger.info("Allocation profile - {}: {} bytes/op (budget {})", benchmark,
+                    Math.round(bytesPerOp), budgets.get(benchmark).intValue());
+            assertTrue(bytesPerOp <= budgets.get(benchmark),
+                    benchmark + " allocated " + bytesPerOp + " bytes/op, over its budget of " + budgets.get(benchmark));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * JMH benchmarks for the movie search hot path, run with the GC profiler by
+ * {@link MovieSearchAllocationTest} to keep an eye on how much garbage each search leaves in its wake.
+ * The app's log level from application.yml is applied first, so the numbers include whatever
+ * that level logs per search.
+ */
+@State(Scope.Thread)
+public class MovieSearchBenchmark {
+    // Same criteria in different spellings, so cache hits exercise normalization-free lookups
+    private static final String[][] QUERIES = {
+        {"the", null},
+        {"  THE ", ""},
+        {null, "drama"},
+        {"Pirate", "Adventure"},
+        {"", "  Crime/Drama"},
+        {"zzz-no-such-movie", null},
+    };
+
+    private static final String APP_PACKAGE = "com.amazonaws.samples.qdevmovies";
+
+    private MovieService movieService;
+    private MoviesController moviesController;
+    private TraceRecorder traceRecorder;
+    private PartitionedSearchExecutor searchExecutor;
+    private List<Movie> catalog;
+    private MovieSearchCache.SearchKey[] scanKeys;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        applyApplicationLogLevel();
+        traceRecorder = new TraceRecorder();
+        searchExecutor = new PartitionedSearchExecutor();
+        movieService = new MovieService(new JsonMovieRepository(), searchExecutor);
+        catalog = movieService.getAllMovies();
+        moviesController = new MoviesController();
+        ReflectionTestUtils.setField(moviesController, "movieService", movieService);
+        scanKeys = new MovieSearchCache.SearchKey[QUERIES.length];
+        for (int i = 0; i < QUERIES.length; i++) {
+            scanKeys[i] = MovieSearchCache.SearchKey.of(QUERIES[i][0], QUERIES[i][1], 0L);
+        }
+    }
+
+    private static void applyApplicationLogLevel() {
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application.yml"));
+        Properties properties = yaml.getObject();
+        String level = properties != null ? properties.getProperty("logging.level." + APP_PACKAGE) : null;
+        if (level != null) {
+            Configurator.setLevel(APP_PACKAGE, Level.toLevel(level.trim()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        searchExecutor.shutdown();
+    }
+
+    private int nextQuery() {
+        int query = next;
+        next = query + 1 == QUERIES.length ? 0 : query + 1;
+        return query;
+    }
+
+    @Benchmark
+    public List<Movie> cachedSearch() {
+        String[] query = QUERIES[nextQuery()];
+        return movieService.searchMovies(query[0], null, query[1]);
+    }
+
+    /**
+     * A cached search inside a request trace, the way TracingInterceptor wraps it when tracing is on.
+     */
+    @Benchmark
+    public List<Movie> tracedSearch() {
+        String[] query = QUERIES[nextQuery()];
+        RequestTracer.begin("GET", "/movies/search", null);
+        try {
+            return movieService.searchMovies(query[0], null, query[1]);
+        } finally {
+            RequestTrace trace = RequestTracer.end();
+            trace.finish(200, System.nanoTime());
+            traceRecorder.record(trace);
+        }
+    }
+
+    /**
+     * A cached search through the JSON endpoint, up to the response body Jackson serializes.
+     */
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> searchMoviesApi() {
+        String[] query = QUERIES[nextQuery()];
+        return moviesController.searchMoviesApi(query[0], null, query[1]);
+    }
+
+    @Benchmark
+    public int[] catalogScan() {
+        return movieService.scanCatalog(catalog, scanKeys[nextQuery()]);
+    }
+}
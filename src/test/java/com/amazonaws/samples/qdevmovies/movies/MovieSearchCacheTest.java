@@ -0,0 +1,154 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the search result cache that keeps our treasure maps handy between voyages!
+ */
+public class MovieSearchCacheTest {
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        loads = new AtomicInteger();
+    }
+
+    private int[] countingLoader(MovieSearchCache.SearchKey key) {
+        loads.incrementAndGet();
+        return new int[] {1, 2, 3};
+    }
+
+    @Test
+    @DisplayName("Should reuse cached results for criteria that normalize to the same key")
+    public void testNormalizedCriteriaShareEntry() {
+        MovieSearchCache cache = new MovieSearchCache();
+
+        int[] first = cache.get("  Drama ", null, 1L, this::countingLoader);
+        int[] second = cache.get("drama", "", 1L, this::countingLoader);
+
+        assertSame(first, second, "Normalized criteria should hit the same cache entry");
+        assertEquals(1, loads.get(), "Loader should run only once");
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Should drop cached results when the catalog version changes")
+    public void testInvalidateOnCatalogVersionChange() {
+        MovieSearchCache cache = new MovieSearchCache();
+
+        cache.get("the", null, 1L, this::countingLoader);
+        cache.get("the", null, 2L, this::countingLoader);
+
+        assertEquals(2, loads.get(), "New catalog version should force a reload");
+        assertEquals(1, cache.size(), "Stale entries should be removed");
+    }
+
+    @Test
+    @DisplayName("Should keep newer entries when a search for an older catalog version arrives late")
+    public void testOlderVersionDoesNotInvalidate() {
+        MovieSearchCache cache = new MovieSearchCache();
+
+        int[] current = cache.get("the", null, 2L, this::countingLoader);
+        int[] late = cache.get("the", null, 1L, key -> new int[] {7});
+        assertArrayEquals(new int[] {7}, late, "Older version should be answered from its own loader");
+        assertEquals(1, cache.size(), "Results for an older version should not be cached");
+
+        assertSame(current, cache.get("the", null, 2L, this::countingLoader), "Newer entry should survive");
+        assertEquals(1, loads.get(), "Newer entry should not be reloaded");
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used entries when over the weight budget")
+    public void testSizeAwareEviction() {
+        MovieSearchCache cache = new MovieSearchCache(100, 40);
+
+        cache.get("a", null, 1L, key -> new int[19]);
+        cache.get("b", null, 1L, key -> new int[9]);
+        cache.get("a", null, 1L, this::countingLoader);
+        cache.get("c", null, 1L, key -> new int[14]);
+
+        assertTrue(cache.getWeight() <= 40, "Cache weight should stay within budget");
+        assertEquals(1, cache.getEvictionCount(), "Only the least recently used entry should be evicted");
+        cache.get("a", null, 1L, this::countingLoader);
+        assertEquals(0, loads.get(), "Recently used entry should survive eviction");
+        cache.get("b", null, 1L, this::countingLoader);
+        assertEquals(1, loads.get(), "Evicted entry should be reloaded");
+    }
+
+    @Test
+    @DisplayName("Should not cache results larger than the whole weight budget")
+    public void testOversizedResultNotCached() {
+        MovieSearchCache cache = new MovieSearchCache(100, 10);
+
+        cache.get("", null, 1L, key -> new int[50]);
+
+        assertEquals(0, cache.size(), "Oversized result should bypass the cache");
+        assertEquals(0, cache.getWeight());
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent misses for the same criteria into one load")
+    public void testConcurrentMissesCoalesce() throws Exception {
+        MovieSearchCache cache = new MovieSearchCache();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<int[]>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get("hero", null, 1L, key -> {
+                loaderStarted.countDown();
+                awaitQuietly(releaseLoader);
+                return countingLoader(key);
+            })));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS), "Loader should start");
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> cache.get("HERO", null, 1L, this::countingLoader)));
+            }
+            releaseLoader.countDown();
+
+            int[] expected = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<int[]> result : results) {
+                assertSame(expected, result.get(5, TimeUnit.SECONDS), "All callers should share one result");
+            }
+            assertEquals(1, loads.get(), "Loader should run only once for concurrent misses");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should propagate loader failures without caching them")
+    public void testLoaderFailureNotCached() {
+        MovieSearchCache cache = new MovieSearchCache();
+
+        assertThrows(IllegalStateException.class, () -> cache.get("boom", null, 1L, key -> {
+            throw new IllegalStateException("Blimey!");
+        }));
+        cache.get("boom", null, 1L, this::countingLoader);
+
+        assertEquals(1, loads.get(), "Failed load should not leave a cached entry behind");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
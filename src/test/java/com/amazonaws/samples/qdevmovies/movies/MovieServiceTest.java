@@ -4,8 +4,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -32,6 +35,16 @@ public class MovieServiceTest {
         assertTrue(movies.size() > 0, "Should have some movie treasures loaded");
     }
 
+    @Test
+    @DisplayName("Should report the catalog as loaded once it has been read")
+    public void testCatalogLoadedAfterFirstAccess() {
+        movieService.getAllMovies();
+
+        assertTrue(movieService.isCatalogLoaded(), "Catalog should be loaded after the first access");
+        assertEquals("UP", new MovieCatalogHealthIndicator(movieService).health().getStatus().getCode(),
+            "Catalog health should be UP once loaded");
+    }
+
     @Test
     @DisplayName("Should find movie treasure by valid ID")
     public void testGetMovieByValidId() {
@@ -192,4 +205,82 @@ public class MovieServiceTest {
         assertEquals(results2.size(), results1.size(), 
             "Whitespace should be trimmed and results should be the same");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should reload the catalog and drop cached searches when the repository changes")
+    public void testCatalogReloadedOnRepositoryChange() {
+        List<Movie> stored = new ArrayList<>();
+        stored.add(new Movie(1L, "Sea Hero", "Director", 2001, "Adventure", "Description", 100, 4.0));
+        AtomicLong version = new AtomicLong();
+        MovieRepository repository = new MovieRepository() {
+            @Override
+            public List<Movie> findAll() {
+                return new ArrayList<>(stored);
+            }
+
+            @Override
+            public Optional<Movie> findById(long id) {
+                return stored.stream().filter(movie -> movie.getId() == id).findFirst();
+            }
+
+            @Override
+            public List<Movie> findPage(long afterId, int limit) {
+                return findAll();
+            }
+
+            @Override
+            public long getVersion() {
+                return version.get();
+            }
+        };
+        MovieService service = new MovieService(repository, PartitionedSearchExecutor.sequential());
+        assertEquals(1, service.searchMovies("hero", null, null).size());
+
+        stored.add(new Movie(2L, "Hero of the Deep", "Director", 2002, "Adventure", "Description", 100, 4.0));
+        assertEquals(1, service.searchMovies("hero", null, null).size(), "Unchanged version should serve the cached result");
+        assertTrue(service.getMovieById(2L).isPresent(), "ID lookups should go to the repository directly");
+
+        version.incrementAndGet();
+        assertEquals(2, service.searchMovies("hero", null, null).size(), "New version should reload the catalog");
+        assertEquals(2, service.getAllMovies().size());
+    }
+
+    @Test
+    @DisplayName("Should resolve search results against the catalog they were scanned from")
+    public void testSearchDuringConstantReloads() {
+        List<Movie> stored = new CopyOnWriteArrayList<>();
+        stored.add(new Movie(1L, "Sea Hero", "Director", 2001, "Adventure", "Description", 100, 4.0));
+        AtomicLong nextId = new AtomicLong(100);
+        MovieRepository repository = new MovieRepository() {
+            @Override
+            public List<Movie> findAll() {
+                return new ArrayList<>(stored);
+            }
+
+            @Override
+            public Optional<Movie> findById(long id) {
+                return stored.stream().filter(movie -> movie.getId() == id).findFirst();
+            }
+
+            @Override
+            public List<Movie> findPage(long afterId, int limit) {
+                return findAll();
+            }
+
+            // Every version check sees a new write that shifts the matching movie one ordinal down
+            @Override
+            public long getVersion() {
+                long id = nextId.incrementAndGet();
+                stored.add(0, new Movie(id, "Deckhand " + id, "Director", 2000, "Drama", "Description", 90, 3.0));
+                return id;
+            }
+        };
+        MovieService service = new MovieService(repository, PartitionedSearchExecutor.sequential());
+
+        for (int i = 0; i < 20; i++) {
+            List<Movie> results = service.searchMovies("hero", null, null);
+            assertEquals(1, results.size(), "Reloads should not change the number of matches");
+            assertEquals("Sea Hero", results.get(0).getMovieName(), "Ordinals should index the scanned catalog");
+        }
+    }
+}
@@ -183,4 +183,26 @@ public class MoviesControllerTest {
         assertEquals("Movie Not Found", title, "Should have correct error title");
         assertTrue(message.contains("999"), "Error message should contain the movie ID");
     }
+
+    @Test
+    @DisplayName("Should page through the catalog with a keyset cursor")
+    public void testMoviesPage() {
+        ResponseEntity<Map<String, Object>> first = moviesController.getMoviesPage(0, 5);
+        assertEquals(200, first.getStatusCodeValue());
+        List<?> movies = (List<?>) first.getBody().get("movies");
+        assertEquals(5, movies.size(), "First page should be full");
+        assertEquals(5L, first.getBody().get("nextAfter"), "Cursor should be the last ID on the page");
+
+        ResponseEntity<Map<String, Object>> last = moviesController.getMoviesPage(10, 5);
+        assertEquals(2, ((List<?>) last.getBody().get("movies")).size());
+        assertNull(last.getBody().get("nextAfter"), "Short page should be the last one");
+    }
+
+    @Test
+    @DisplayName("Should reject invalid page parameters")
+    public void testMoviesPageInvalid() {
+        assertEquals(400, moviesController.getMoviesPage(0, 0).getStatusCodeValue());
+        assertEquals(400, moviesController.getMoviesPage(-1, 5).getStatusCodeValue());
+        assertEquals(400, moviesController.getMoviesPage(0, 1000).getStatusCodeValue());
+    }
 }
@@ -0,0 +1,143 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the partitioned search executor - many hands make light work of a big treasure hoard!
+ */
+public class PartitionedSearchExecutorTest {
+
+    private static final int CATALOG_SIZE = 50_000;
+    private static final Predicate<Movie> EVEN_YEARS = movie -> movie.getYear() % 2 == 0;
+
+    private List<Movie> catalog;
+    private PartitionedSearchExecutor executor;
+
+    @BeforeEach
+    public void setUp() {
+        catalog = new ArrayList<>(CATALOG_SIZE);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            catalog.add(new Movie(i + 1, "Movie " + i, "Director", 1900 + (i % 7), "Drama", "Description", 100, 4.0));
+        }
+        executor = new PartitionedSearchExecutor(4, 1000, 1, 3);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should return the same ordinals in catalog order as a sequential scan")
+    public void testParallelMatchesSequential() {
+        int[] parallel = executor.search(catalog, EVEN_YEARS, Long.MAX_VALUE);
+        int[] sequential = executor.search(catalog, EVEN_YEARS, 0);
+
+        assertArrayEquals(sequential, parallel, "Parallel search should match sequential search");
+        for (int i = 1; i < parallel.length; i++) {
+            assertTrue(parallel[i - 1] < parallel[i], "Results should be in catalog order");
+        }
+    }
+
+    @Test
+    @DisplayName("Should stay on the calling thread below the cost threshold")
+    public void testCheapSearchRunsSequentially() {
+        PartitionedSearchExecutor thresholdExecutor = new PartitionedSearchExecutor(4, 1000, 1_000_000, 3);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        try {
+            thresholdExecutor.search(catalog, movie -> threads.add(Thread.currentThread()), 10);
+        } finally {
+            thresholdExecutor.shutdown();
+        }
+
+        assertEquals(1, threads.size(), "Cheap search should use only the calling thread");
+        assertTrue(threads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    @DisplayName("Should cap the number of threads a single search can use")
+    public void testPerRequestParallelismCap() {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        int[] results = executor.search(catalog, movie -> {
+            threads.add(Thread.currentThread());
+            return true;
+        }, Long.MAX_VALUE);
+
+        assertEquals(CATALOG_SIZE, results.length, "Every movie should match");
+        assertTrue(threads.size() <= 3, "Search should use at most 3 threads but used " + threads.size());
+    }
+
+    @Test
+    @DisplayName("Should return once its chunks are done without waiting for queued tasks on a busy pool")
+    public void testFinishedSearchDoesNotWaitOnBusyPool() throws Exception {
+        PartitionedSearchExecutor busyExecutor = new PartitionedSearchExecutor(2, 1000, 1, 3);
+        CountDownLatch workersBlocked = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            // First search parks both pool workers inside its predicate; its calling thread holds
+            // back until they are parked so it cannot claim every chunk first
+            Future<int[]> blocking = caller.submit(() -> busyExecutor.search(catalog, movie -> {
+                if (Thread.currentThread().getName().startsWith("movie-search-")) {
+                    workersBlocked.countDown();
+                    awaitQuietly(release);
+                } else {
+                    awaitQuietly(workersBlocked);
+                }
+                return true;
+            }, Long.MAX_VALUE));
+            assertTrue(workersBlocked.await(5, TimeUnit.SECONDS), "Both pool workers should be busy");
+
+            // Second search's tasks sit in the queue; its calling thread does all the work
+            long start = System.nanoTime();
+            int[] results = busyExecutor.search(catalog, EVEN_YEARS, Long.MAX_VALUE);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertArrayEquals(busyExecutor.search(catalog, EVEN_YEARS, 0), results);
+            assertTrue(elapsedMillis < 2000, "Search should not wait on the busy pool but took " + elapsedMillis + " ms");
+
+            release.countDown();
+            assertEquals(CATALOG_SIZE, blocking.get(5, TimeUnit.SECONDS).length, "Blocked search should complete once released");
+        } finally {
+            release.countDown();
+            caller.shutdownNow();
+            busyExecutor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should propagate predicate failures from worker threads")
+    public void testPredicateFailurePropagates() {
+        assertThrows(IllegalStateException.class, () -> executor.search(catalog, movie -> {
+            if (movie.getId() == CATALOG_SIZE) {
+                throw new IllegalStateException("Blimey!");
+            }
+            return true;
+        }, Long.MAX_VALUE));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
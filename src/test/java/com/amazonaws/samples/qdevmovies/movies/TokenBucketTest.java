@@ -0,0 +1,52 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the lock-free token bucket that rations our treasure hunters' searches.
+ */
+public class TokenBucketTest {
+
+    private static final long START = 1_000_000_000L;
+
+    @Test
+    @DisplayName("Should allow a full burst and then refuse further tokens")
+    public void testBurstThenRefuse() {
+        TokenBucket bucket = new TokenBucket(10, 5, START);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(1, START), "Burst capacity should be available");
+        }
+        long wait = bucket.tryAcquire(1, START);
+        assertTrue(wait > 0, "Empty bucket should refuse tokens");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait, "One token refills every 100 ms at 10/s");
+    }
+
+    @Test
+    @DisplayName("Should refill tokens over time")
+    public void testRefill() {
+        TokenBucket bucket = new TokenBucket(10, 5, START);
+        assertEquals(0, bucket.tryAcquire(5, START));
+        assertFalse(bucket.isFull(START));
+
+        long later = START + TimeUnit.MILLISECONDS.toNanos(200);
+        assertEquals(0, bucket.tryAcquire(2, later), "Two tokens should refill after 200 ms");
+        assertTrue(bucket.tryAcquire(1, later) > 0, "No more tokens should be left");
+        assertTrue(bucket.isFull(START + TimeUnit.SECONDS.toNanos(1)), "Bucket should be full again after a second");
+    }
+
+    @Test
+    @DisplayName("Should charge expensive requests more tokens")
+    public void testCostCharging() {
+        TokenBucket bucket = new TokenBucket(1, 10, START);
+
+        assertEquals(0, bucket.tryAcquire(10, START), "Full bucket should cover a cost equal to the burst");
+        assertTrue(bucket.tryAcquire(1, START) > 0, "Bucket should be drained by the expensive request");
+        assertTrue(new TokenBucket(1, 10, START).tryAcquire(11, START) > 0, "Cost above the burst can never pass");
+    }
+}
@@ -0,0 +1,144 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for request tracing - every leg of the voyage gets logged in the ship's book!
+ */
+public class TraceRecorderTest {
+
+    @AfterEach
+    public void tearDown() {
+        RequestTracer.end();
+    }
+
+    private static RequestTrace finishedTrace(String path, long durationNanos) {
+        RequestTrace trace = new RequestTrace("GET", path, null, 0);
+        trace.finish(200, durationNanos);
+        return trace;
+    }
+
+    @Test
+    @DisplayName("Spans outside a traced request should be no-ops")
+    public void testSpanWithoutTrace() {
+        try (RequestTracer.Span span = RequestTracer.span("searchMovies")) {
+            assertNull(RequestTracer.current(), "No trace should be started implicitly");
+        }
+        RequestTracer.recordResultCount(3);
+        assertNull(RequestTracer.current());
+    }
+
+    @Test
+    @DisplayName("Should record service stages and web stages for a request")
+    public void testInterceptorRecordsStages() {
+        TraceRecorder recorder = new TraceRecorder();
+        TracingInterceptor interceptor = new TracingInterceptor(recorder);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/movies/search");
+        request.setQueryString("name=hero");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        new MovieService().searchMovies("hero", null, null);
+        RequestTracer.recordResultCount(1);
+        interceptor.postHandle(request, response, null, new ModelAndView("movies"));
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertNull(RequestTracer.current(), "Trace should be unbound from the thread when the request completes");
+        List<RequestTrace> traces = recorder.slowest(10);
+        assertEquals(1, traces.size());
+        RequestTrace trace = traces.get(0);
+        assertEquals("/movies/search", trace.getPath());
+        assertEquals("name=hero", trace.getQuery());
+        assertEquals(1, trace.getResultCount());
+        assertEquals(200, trace.getStatus());
+        Map<String, Double> stages = trace.getStages();
+        assertTrue(stages.containsKey("searchMovies"), "Service span should be recorded");
+        assertTrue(stages.containsKey("handler"), "Handler stage should be recorded");
+        assertTrue(stages.containsKey("render"), "Render stage should be recorded");
+        assertTrue(trace.getDurationMs() >= stages.get("searchMovies"), "Total should cover the service stage");
+    }
+
+    @Test
+    @DisplayName("Should time JSON serialization separately from the handler")
+    public void testSerializeStageExcludedFromHandler() throws IOException {
+        TracingInterceptor interceptor = new TracingInterceptor(new TraceRecorder());
+        TracingMessageConverter converter = new TracingMessageConverter(new ObjectMapper());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/movies/search");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        RequestTrace trace = RequestTracer.current();
+        MockHttpOutputMessage body = new MockHttpOutputMessage();
+        converter.write(Collections.singletonMap("movies", new MovieService().getAllMovies()),
+                MediaType.APPLICATION_JSON, body);
+        long serialized = trace.getStageNanos("serialize");
+        long sinceStart = System.nanoTime() - trace.getStartNanos();
+        interceptor.postHandle(request, response, null, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertTrue(body.getBodyAsString().contains("movieName"), "Converter should still write JSON");
+        assertTrue(serialized > 0, "Serialize stage should be recorded");
+        assertTrue(trace.getStageNanos("handler") <= trace.getDurationNanos() - serialized,
+                "Handler stage should not include serialization");
+        assertTrue(serialized <= sinceStart, "Serialize stage should fit inside the request");
+    }
+
+    @Test
+    @DisplayName("Should time nested spans as separate stages")
+    public void testNestedSpans() {
+        RequestTrace trace = RequestTracer.begin("GET", "/movies/search", null);
+        try (RequestTracer.Span outer = RequestTracer.span("searchMovies")) {
+            try (RequestTracer.Span inner = RequestTracer.span("scanCatalog")) {
+                assertSame(trace, RequestTracer.current());
+            }
+        }
+        RequestTracer.end();
+
+        Map<String, Double> stages = trace.getStages();
+        assertEquals(2, stages.size());
+        assertTrue(stages.get("searchMovies") >= stages.get("scanCatalog"), "Outer span should cover the inner one");
+    }
+
+    @Test
+    @DisplayName("Should sum repeated stages with the same name")
+    public void testRepeatedStagesSummed() {
+        RequestTrace trace = new RequestTrace("GET", "/movies", null, 0);
+        trace.addStage("getAllGenres", 1_000_000);
+        trace.addStage("getAllGenres", 2_000_000);
+
+        assertEquals(1, trace.getStages().size());
+        assertEquals(3.0, trace.getStages().get("getAllGenres"), 0.0001);
+    }
+
+    @Test
+    @DisplayName("Should keep only the most recent traces and list the slowest first")
+    public void testRingAndSlowest() {
+        TraceRecorder recorder = new TraceRecorder(3, Duration.ofSeconds(1));
+        recorder.record(finishedTrace("/oldest-and-slowest", 9_000_000));
+        recorder.record(finishedTrace("/a", 1_000_000));
+        recorder.record(finishedTrace("/b", 3_000_000));
+        recorder.record(finishedTrace("/c", 2_000_000));
+
+        List<RequestTrace> slowest = recorder.slowest(2);
+        assertEquals(2, slowest.size());
+        assertEquals("/b", slowest.get(0).getPath(), "Slowest recent request should come first");
+        assertEquals("/c", slowest.get(1).getPath());
+        assertEquals(3, recorder.slowest(10).size(), "Ring should hold only the last 3 traces");
+    }
+}
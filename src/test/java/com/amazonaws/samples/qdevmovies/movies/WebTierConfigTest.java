@@ -0,0 +1,136 @@
+package com.amazonaws.samples.qdevmovies.movies;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the web-tuned profile: compression, fingerprinted stylesheets and cache headers.
+ * Also reports a small before/after benchmark of bytes on the wire and latency, comparing
+ * identity responses (the untuned baseline) with gzip responses from the tuned profile.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "movies.admission.enabled=false")
+@ActiveProfiles("web-tuned")
+public class WebTierConfigTest {
+    private static final Logger logger = LogManager.getLogger(WebTierConfigTest.class);
+    private static final Pattern FINGERPRINTED_CSS = Pattern.compile("/css/movies-[0-9a-f]{32}\\.css");
+    private static final int BENCHMARK_ROUNDS = 50;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("Should gzip HTML pages when the client accepts it")
+    public void testHtmlCompressed() throws IOException {
+        Fetch plain = fetch("/movies", false);
+        Fetch gzip = fetch("/movies", true);
+
+        assertEquals(200, gzip.status);
+        assertEquals("gzip", gzip.contentEncoding, "HTML should be gzip encoded");
+        assertNull(plain.contentEncoding, "Clients without gzip support should get identity responses");
+        assertArrayEquals(plain.body, gunzip(gzip.body), "Decompressed page should match the identity page");
+    }
+
+    @Test
+    @DisplayName("Should link fingerprinted stylesheets served with immutable cache headers")
+    public void testFingerprintedCssCached() throws IOException {
+        String html = new String(fetch("/movies", false).body, StandardCharsets.UTF_8);
+        Matcher matcher = FINGERPRINTED_CSS.matcher(html);
+        assertTrue(matcher.find(), "Template should link a fingerprinted stylesheet");
+
+        Fetch css = fetch(matcher.group(), true);
+        assertEquals(200, css.status);
+        assertEquals("gzip", css.contentEncoding, "Stylesheet should be served gzip encoded");
+        assertNotNull(css.cacheControl, "Stylesheet should carry cache headers");
+        assertTrue(css.cacheControl.contains("max-age=31536000"), "Stylesheet should be cached for a year");
+        assertTrue(css.cacheControl.contains("immutable"), "Stylesheet should be marked immutable");
+    }
+
+    @Test
+    @DisplayName("Should put fewer bytes on the wire with compression (benchmark)")
+    public void testBytesOnWireBenchmark() throws IOException {
+        String html = new String(fetch("/movies", false).body, StandardCharsets.UTF_8);
+        Matcher matcher = FINGERPRINTED_CSS.matcher(html);
+        assertTrue(matcher.find(), "Template should link a fingerprinted stylesheet");
+
+        for (String path : new String[] {"/movies", "/movies/search", matcher.group()}) {
+            long[] before = benchmark(path, false);
+            long[] after = benchmark(path, true);
+            logger.info("Web tier benchmark {} - before: {} bytes, {} us/request; after: {} bytes, {} us/request",
+                    path, before[0], before[1], after[0], after[1]);
+            assertTrue(after[0] < before[0], "Compressed response should be smaller for " + path);
+        }
+    }
+
+    /**
+     * @return Bytes per response and mean latency in microseconds, after a warm-up pass
+     */
+    private long[] benchmark(String path, boolean gzip) throws IOException {
+        for (int i = 0; i < BENCHMARK_ROUNDS; i++) {
+            fetch(path, gzip);
+        }
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ROUNDS; i++) {
+            bytes = fetch(path, gzip).body.length;
+        }
+        return new long[] {bytes, (System.nanoTime() - start) / BENCHMARK_ROUNDS / 1000};
+    }
+
+    private Fetch fetch(String path, boolean gzip) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + path).openConnection();
+        if (gzip) {
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+        }
+        try (InputStream in = connection.getInputStream()) {
+            return new Fetch(connection.getResponseCode(), connection.getContentEncoding(),
+                    connection.getHeaderField("Cache-Control"), readAll(in));
+        }
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (InputStream in = new GZIPInputStream(new java.io.ByteArrayInputStream(body))) {
+            return readAll(in);
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class Fetch {
+        private final int status;
+        private final String contentEncoding;
+        private final String cacheControl;
+        private final byte[] body;
+
+        private Fetch(int status, String contentEncoding, String cacheControl, byte[] body) {
+            this.status = status;
+            this.contentEncoding = contentEncoding;
+            this.cacheControl = cacheControl;
+            this.body = body;
+        }
+    }
+}